@@ -0,0 +1,44 @@
+package com.example.wealthverse.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class ExportExecutorConfig implements WebMvcConfigurer {
+
+    @Value("${wealthverse.export.workers:2}")
+    private int workers;
+
+    @Value("${wealthverse.export.timeout:30m}")
+    private Duration timeout;
+
+    /**
+     * Threads that write streaming responses (the transaction export), so a long download holds
+     * one of these instead of a request thread. {@code TransactionExportServiceImpl} admits at most
+     * {@code workers} exports at a time; the queue only absorbs a new export whose thread is still
+     * finishing the previous one.
+     */
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("export-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor());
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.wealthverse.Config;
 
 import com.example.wealthverse.Filter.JWTAuthenticationFilter;
 import com.example.wealthverse.Service.Impl.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -56,6 +57,9 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(req ->
                         req.requestMatchers(publicUrls.toArray(String[]::new))
+                                .permitAll()
+                                // Completes a streaming response whose request was already authorized
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
                                 .permitAll()
                                 .anyRequest()
                                 .authenticated()
@@ -0,0 +1,30 @@
+package com.example.wealthverse.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SummaryRebuildExecutorConfig {
+
+    /**
+     * Threads of the all-users summary rebuild: one coordinator that pages through the users and
+     * {@code parallelism} workers that rebuild one user each. The coordinator never hands out more
+     * than {@code parallelism} users at a time; the queue only absorbs a user whose worker thread
+     * is still finishing the previous one.
+     */
+    @Bean(name = "summaryRebuildExecutor")
+    public ThreadPoolTaskExecutor summaryRebuildExecutor(
+            @Value("${wealthverse.summaries.rebuild-parallelism:4}") int parallelism) {
+        int workers = Math.max(1, parallelism);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers + 1);
+        executor.setMaxPoolSize(workers + 1);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("summary-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
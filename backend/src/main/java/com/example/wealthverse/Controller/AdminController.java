@@ -0,0 +1,82 @@
+package com.example.wealthverse.Controller;
+
+import com.example.wealthverse.DTO.SummaryRebuildJob;
+import com.example.wealthverse.DTO.SummaryRebuildResult;
+import com.example.wealthverse.Exception.ResourceNotFoundException;
+import com.example.wealthverse.Exception.UnauthorizedException;
+import com.example.wealthverse.Model.ApiResponse;
+import com.example.wealthverse.Service.JWTService;
+import com.example.wealthverse.Service.SummaryRebuildService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Maintenance endpoints. Only users listed in {@code wealthverse.admin.user-ids} may call them.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final SummaryRebuildService summaryRebuildService;
+    private final JWTService jwtService;
+
+    @Value("${wealthverse.admin.user-ids:}")
+    private Set<Long> adminUserIds;
+
+    @Autowired
+    public AdminController(SummaryRebuildService summaryRebuildService, JWTService jwtService) {
+        this.summaryRebuildService = summaryRebuildService;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Recomputes the monthly summaries of {@code from..to} (inclusive) from the transactions, for
+     * one user or, without {@code userId}, for all users. The all-users rebuild runs in the
+     * background: the response is a 202 with the job, whose progress is at
+     * {@code /summaries/rebuild/status}.
+     */
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<ApiResponse> rebuildSummaries(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        requireAdmin(authHeader);
+
+        if (userId == null) {
+            SummaryRebuildJob job = summaryRebuildService.startRebuildForAllUsers(from, to);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Summary rebuild started", job));
+        }
+        SummaryRebuildResult result = summaryRebuildService.rebuildForUser(userId, from, to);
+        return ResponseEntity.ok(new ApiResponse(true, "Summaries rebuilt", result));
+    }
+
+    /**
+     * The latest all-users rebuild, running or finished.
+     */
+    @GetMapping("/summaries/rebuild/status")
+    public ResponseEntity<ApiResponse> rebuildStatus(@RequestHeader("Authorization") String authHeader) {
+        requireAdmin(authHeader);
+
+        SummaryRebuildJob job = summaryRebuildService.getAllUsersRebuild();
+        if (job == null) {
+            throw new ResourceNotFoundException("No summary rebuild has been started");
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Summary rebuild " + job.getStatus(), job));
+    }
+
+    private void requireAdmin(String authHeader) {
+        Long userId = jwtService.getUserIdFromToken(authHeader);
+        if (userId == null || !adminUserIds.contains(userId)) {
+            throw new UnauthorizedException("Admin access required");
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.example.wealthverse.Controller;
 
 import com.example.wealthverse.DTO.CategorySummaryResponse;
 import com.example.wealthverse.DTO.CategorywiseAndTotalData;
+import com.example.wealthverse.DTO.DailySeriesResponse;
 import com.example.wealthverse.DTO.MonthlySummaryResponse;
 import com.example.wealthverse.DTO.MultiMonthSummaryResponse;
+import com.example.wealthverse.DTO.RangeSummaryResponse;
 import com.example.wealthverse.Model.MonthlyCategorySummary;
 import com.example.wealthverse.Service.MonthlyCategorySummaryService;
 import com.example.wealthverse.Service.JWTService;
@@ -14,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.Comparator;
@@ -65,4 +68,29 @@ public class MonthlySummaryController {
         return ResponseEntity.ok(response);
     }
 
-}
\ No newline at end of file
+    @GetMapping("/range")
+    public ResponseEntity<RangeSummaryResponse> getRangeSummary(
+            @RequestHeader("Authorization") String token,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+
+        Long userId = jwtService.getUserIdFromToken(token);
+
+        RangeSummaryResponse response = summaryService.getRangeSummaryForUser(userId, from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<DailySeriesResponse> getDailySeries(
+            @RequestHeader("Authorization") String token,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId) {
+
+        Long userId = jwtService.getUserIdFromToken(token);
+
+        DailySeriesResponse response = summaryService.getDailySeriesForUser(userId, from, to, categoryId);
+        return ResponseEntity.ok(response);
+    }
+
+}
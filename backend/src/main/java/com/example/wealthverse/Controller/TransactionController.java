@@ -2,33 +2,50 @@ package com.example.wealthverse.Controller;
 
 import com.example.wealthverse.DTO.AddTransactionRequest;
 import com.example.wealthverse.DTO.CategoryApplyRequest;
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.DTO.CursorPage;
+import com.example.wealthverse.DTO.ImportJobResponse;
 import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.DTO.TransactionFilter;
+import com.example.wealthverse.Enums.ExportFormat;
 import com.example.wealthverse.Exception.BadRequestException;
+import com.example.wealthverse.Exception.TooManyRequestsException;
+import com.example.wealthverse.Service.ImportJobService;
+import com.example.wealthverse.Service.TransactionExportService;
 import com.example.wealthverse.Service.TransactionService;
 import com.example.wealthverse.Model.ApiResponse;
 import com.example.wealthverse.Model.Transaction;
-import com.opencsv.exceptions.CsvException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
     private static final Logger logger = LoggerFactory.getLogger(TransactionController.class);
     private final TransactionService transactionService;
+    private final ImportJobService importJobService;
+    private final TransactionExportService transactionExportService;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, ImportJobService importJobService,
+                                 TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.importJobService = importJobService;
+        this.transactionExportService = transactionExportService;
     }
 
 
@@ -53,17 +70,13 @@ public class TransactionController {
         }
 
         try {
-            // Process file
-            transactionService.importFromCsv(file, authHeader);
-            logger.info("Successfully imported CSV file: {}", filename);
+            // Queue the file; the import itself runs on the import executor
+            ImportJobResponse job = importJobService.submitImport(file, authHeader);
+            logger.info("Queued CSV file {} as import job {}", filename, job.getJobId());
 
-            return ResponseEntity.ok(new ApiResponse(true, "CSV imported successfully",null));
-
-        } catch (CsvException e) {
-            logger.error("CSV parsing error: {}", e.getMessage());
             return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(new ApiResponse(false, "Failed to parse CSV: " + e.getMessage(),null));
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "CSV import queued", job));
 
         } catch (BadRequestException e) {
             logger.error("Validation error: {}", e.getMessage());
@@ -71,6 +84,11 @@ public class TransactionController {
                     .status(HttpStatus.UNPROCESSABLE_ENTITY)
                     .body(new ApiResponse(false, e.getMessage(),null));
 
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new ApiResponse(false, e.getMessage(),null));
+
         } catch (IOException e) {
             logger.error("IO error reading file: {}", e.getMessage());
             return ResponseEntity
@@ -85,6 +103,24 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImportJob(
+            @PathVariable Long jobId,
+            @RequestHeader("Authorization") String authHeader) {
+        return ResponseEntity.ok(importJobService.getImportJob(jobId, authHeader));
+    }
+
+    @GetMapping("/import/{jobId}/rejects")
+    public ResponseEntity<Resource> getImportRejects(
+            @PathVariable Long jobId,
+            @RequestHeader("Authorization") String authHeader) {
+        Resource rejects = importJobService.getRejectsFile(jobId, authHeader);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + jobId + "-rejects.csv\"")
+                .body(rejects);
+    }
+
 
     @PostMapping("/add")
     public ResponseEntity<Transaction> addTransaction(
@@ -95,20 +131,36 @@ public class TransactionController {
     }
 
 
+    /**
+     * Offset paging by default. Passing {@code cursor} (empty for the first page) switches to cursor
+     * paging: the response carries a {@code nextCursor} and only counts rows when {@code includeCount}
+     * is set, so deep pages cost the same as the first one.
+     *
+     * Optional filters: {@code month} (0-indexed) with an optional {@code year}, {@code year} alone,
+     * or inclusive {@code from}/{@code to} dates.
+     */
     @GetMapping("/getall")
-    public ResponseEntity<Page<TransactionDTO>> getAllTransactions(
+    public ResponseEntity<?> getAllTransactions(
             @RequestHeader("Authorization") String authHeader,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) Integer month
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeCount
     ) {
-        Page<TransactionDTO> dtos;
-
-        if (month != null) {
-            // If month parameter is provided, get transactions for that month
+        CreatedAtRange range = CreatedAtRange.resolve(month, year, from, to);
+        if (cursor != null) {
+            return ResponseEntity.ok(transactionService.getTransactionsAfter(authHeader, range, cursor, size, includeCount));
+        }
 
+        Page<TransactionDTO> dtos;
 
-            dtos = transactionService.getTransactionsByMonth(authHeader, month, page, size);
+        if (range != null) {
+            // If a month, year or date range is given, get transactions in that range
+            dtos = transactionService.getTransactionsInRange(authHeader, range, page, size);
         } else {
             // Otherwise get all transactions
             dtos = transactionService.getAllTransactions(authHeader, page, size);
@@ -117,6 +169,49 @@ public class TransactionController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Cursor-paged transactions matching any combination of {@code categoryId}, {@code paymentMode},
+     * {@code transactionType}, {@code minAmount}/{@code maxAmount}, {@code from}/{@code to} and
+     * {@code merchant}; pass the returned {@code nextCursor} as {@code cursor} for the next page.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<CursorPage<TransactionDTO>> filterTransactions(
+            @RequestHeader("Authorization") String authHeader,
+            @ModelAttribute TransactionFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(transactionService.filterTransactions(authHeader, filter, cursor, size));
+    }
+
+    /**
+     * Downloads the user's transactions, oldest first, as {@code csv} or {@code ndjson}; optionally
+     * only those between the inclusive {@code from}/{@code to} dates. The body is written on the
+     * export executor while rows are read, and gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        CreatedAtRange range = CreatedAtRange.resolve(null, null, from, to);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = transactionExportService.exportTransactions(authHeader, exportFormat, range, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @PostMapping("/apply-category")
     public ResponseEntity<String> applyCategory(
             @RequestBody CategoryApplyRequest req,
@@ -0,0 +1,9 @@
+package com.example.wealthverse.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Summed totals of one category over some set of summary rows.
+ */
+public record CategoryTotal(Long categoryId, String categoryName, BigDecimal totalAmount, BigDecimal totalEmission) {
+}
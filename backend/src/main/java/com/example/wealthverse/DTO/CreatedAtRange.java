@@ -0,0 +1,62 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.YearMonth;
+
+/**
+ * Half-open {@code from <= createdAt < to} filter. Queries compare the bare created_at column
+ * against both bounds, so they are range scans on the (user_id, created_at, ...) index, unlike
+ * MONTH()/YEAR() predicates that have to look at every row of the user.
+ */
+public record CreatedAtRange(LocalDateTime from, LocalDateTime to) {
+
+    public static CreatedAtRange ofMonth(YearMonth yearMonth) {
+        return new CreatedAtRange(yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    public static CreatedAtRange ofYear(int year) {
+        return new CreatedAtRange(LocalDate.of(year, 1, 1).atStartOfDay(), LocalDate.of(year + 1, 1, 1).atStartOfDay());
+    }
+
+    /**
+     * Whole days from {@code from} through {@code toInclusive}.
+     */
+    public static CreatedAtRange ofDays(LocalDate from, LocalDate toInclusive) {
+        if (from.isAfter(toInclusive)) {
+            throw new BadRequestException("Invalid date range: " + from + " to " + toInclusive);
+        }
+        return new CreatedAtRange(from.atStartOfDay(), toInclusive.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Turns the list filter parameters into a range, or null when none is set. {@code month} is
+     * 0-indexed like the frontend sends it and defaults to the current year; {@code year} alone
+     * selects the whole year; {@code from}/{@code to} are inclusive dates and must come together.
+     */
+    public static CreatedAtRange resolve(Integer month, Integer year, LocalDate from, LocalDate to) {
+        boolean dates = from != null || to != null;
+        if (dates && (month != null || year != null)) {
+            throw new BadRequestException("Use either month/year or from/to, not both");
+        }
+        if (dates) {
+            if (from == null || to == null) {
+                throw new BadRequestException("Both from and to are required");
+            }
+            return ofDays(from, to);
+        }
+        if (month != null) {
+            if (month < 0 || month > 11) {
+                throw new BadRequestException("Month must be between 0 and 11");
+            }
+            return ofMonth(YearMonth.of(year != null ? year : Year.now().getValue(), month + 1));
+        }
+        if (year != null) {
+            return ofYear(year);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.wealthverse.DTO;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dense daily spending and emission series for charts: one entry per day of the range (both ends
+ * inclusive), zero on days without activity.
+ */
+@Data
+@Getter
+@Setter
+public class DailySeriesResponse {
+
+    private String from;
+    private String to;
+    private Long categoryId;
+    private List<DailyTotal> days = new ArrayList<>();
+    private BigDecimal totalSpending = BigDecimal.ZERO;
+    private BigDecimal totalEmission = BigDecimal.ZERO;
+
+    public DailySeriesResponse() {
+    }
+
+    public void calculateTotals() {
+        FixedPointSum spending = new FixedPointSum(2);
+        FixedPointSum emission = new FixedPointSum(5);
+        for (DailyTotal day : days) {
+            spending.add(day.totalAmount());
+            emission.add(day.totalEmission());
+        }
+        totalSpending = spending.toBigDecimal();
+        totalEmission = emission.toBigDecimal();
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public List<DailyTotal> getDays() {
+        return days;
+    }
+
+    public void setDays(List<DailyTotal> days) {
+        this.days = days;
+    }
+
+    public BigDecimal getTotalSpending() {
+        return totalSpending;
+    }
+
+    public void setTotalSpending(BigDecimal totalSpending) {
+        this.totalSpending = totalSpending;
+    }
+
+    public BigDecimal getTotalEmission() {
+        return totalEmission;
+    }
+
+    public void setTotalEmission(BigDecimal totalEmission) {
+        this.totalEmission = totalEmission;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.wealthverse.DTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+
+/**
+ * Identity of one daily_category_summaries row.
+ */
+public record DailySummaryKey(Long userId, LocalDate date, Long categoryId) implements Comparable<DailySummaryKey> {
+
+    private static final Comparator<DailySummaryKey> ORDER = Comparator
+            .comparing(DailySummaryKey::userId)
+            .thenComparing(DailySummaryKey::date)
+            .thenComparing(DailySummaryKey::categoryId);
+
+    /**
+     * The monthly_category_summaries row this day rolls up into.
+     */
+    public SummaryKey month() {
+        return new SummaryKey(userId, YearMonth.from(date), categoryId);
+    }
+
+    @Override
+    public int compareTo(DailySummaryKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.wealthverse.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spending and emission of one day, summed over the categories asked for.
+ */
+public record DailyTotal(LocalDate date, BigDecimal totalAmount, BigDecimal totalEmission) {
+}
@@ -0,0 +1,39 @@
+package com.example.wealthverse.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Debit totals of a set of transactions for one day and category, as counted in the summaries
+ * (emission only of globally mapped transactions).
+ */
+public interface DayCategoryTotals {
+    String getDay();
+    Long getCategoryId();
+    BigDecimal getAmount();
+    BigDecimal getEmission();
+
+    static DayCategoryTotals of(LocalDate day, Long categoryId, BigDecimal amount, BigDecimal emission) {
+        return new DayCategoryTotals() {
+            @Override
+            public String getDay() {
+                return day.toString();
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return amount;
+            }
+
+            @Override
+            public BigDecimal getEmission() {
+                return emission;
+            }
+        };
+    }
+}
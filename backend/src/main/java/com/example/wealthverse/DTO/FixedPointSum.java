@@ -0,0 +1,104 @@
+package com.example.wealthverse.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running sum of {@link BigDecimal} values kept as a long of units of {@code 10^-scale}
+ * (scale 2 for amounts in minor units, 5 for emissions), so adding does not allocate.
+ *
+ * {@link #toBigDecimal()} returns exactly what {@code BigDecimal.ZERO.add(v1).add(v2)...} would,
+ * including the scale. Values with more decimals than the fixed scale, and sums that no longer fit
+ * in a long, switch the instance to plain BigDecimal addition, so results are never rounded or
+ * wrapped. Not thread-safe.
+ */
+public final class FixedPointSum {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    private final int scale;
+    private long unscaled;
+    // Scale BigDecimal addition would have produced: the largest input scale, at least 0
+    private int resultScale;
+    // Set once the sum left the fixed-point range; from then on all adds go here
+    private BigDecimal exact;
+
+    public FixedPointSum(int scale) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported scale: " + scale);
+        }
+        this.scale = scale;
+    }
+
+    /**
+     * Adds {@code value}; {@code null} is ignored.
+     */
+    public FixedPointSum add(BigDecimal value) {
+        if (value == null) {
+            return this;
+        }
+        if (exact == null) {
+            int valueScale = value.scale();
+            if (valueScale <= scale && scale - valueScale < POWERS_OF_TEN.length && value.precision() <= 18) {
+                try {
+                    long aligned = Math.multiplyExact(value.unscaledValue().longValue(), POWERS_OF_TEN[scale - valueScale]);
+                    unscaled = Math.addExact(unscaled, aligned);
+                    resultScale = Math.max(resultScale, valueScale);
+                    return this;
+                } catch (ArithmeticException overflow) {
+                    // Fall through to BigDecimal
+                }
+            }
+            exact = toBigDecimal();
+        }
+        exact = exact.add(value);
+        return this;
+    }
+
+    public FixedPointSum add(FixedPointSum other) {
+        if (exact == null && other.exact == null && scale == other.scale) {
+            try {
+                unscaled = Math.addExact(unscaled, other.unscaled);
+                resultScale = Math.max(resultScale, other.resultScale);
+                return this;
+            } catch (ArithmeticException overflow) {
+                // Fall through to BigDecimal
+            }
+        }
+        if (exact == null) {
+            exact = toBigDecimal();
+        }
+        exact = exact.add(other.toBigDecimal());
+        return this;
+    }
+
+    public FixedPointSum copy() {
+        FixedPointSum copy = new FixedPointSum(scale);
+        copy.unscaled = unscaled;
+        copy.resultScale = resultScale;
+        copy.exact = exact;
+        return copy;
+    }
+
+    /**
+     * Whether the sum is still kept as a long, i.e. no add has needed BigDecimal yet.
+     */
+    boolean isFixedPoint() {
+        return exact == null;
+    }
+
+    public BigDecimal toBigDecimal() {
+        if (exact != null) {
+            return exact;
+        }
+        if (unscaled == 0 && resultScale == 0) {
+            return BigDecimal.ZERO;
+        }
+        // Exact: no input had more than resultScale decimals
+        return BigDecimal.valueOf(unscaled, scale).setScale(resultScale);
+    }
+}
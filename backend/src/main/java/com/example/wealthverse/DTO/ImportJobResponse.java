@@ -0,0 +1,168 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Enums.ImportJobStatus;
+import com.example.wealthverse.Model.ImportJob;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class ImportJobResponse {
+
+    private Long jobId;
+
+    private String fileName;
+
+    private ImportJobStatus status;
+
+    private long rowsParsed;
+
+    private long rowsInserted;
+
+    private long rowsSkipped;
+
+    private long rowsFailed;
+
+    private String errorMessage;
+
+    private ImportRejectReport rejects;
+
+    private boolean rejectsFileAvailable;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    public static ImportJobResponse from(ImportJob job) {
+        ImportJobResponse response = new ImportJobResponse();
+        response.setJobId(job.getId());
+        response.setFileName(job.getFileName());
+        response.setStatus(job.getStatus());
+        response.setRowsParsed(job.getRowsParsed());
+        response.setRowsInserted(job.getRowsInserted());
+        response.setRowsSkipped(job.getRowsSkipped());
+        response.setRowsFailed(job.getRowsFailed());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setRejects(job.getRejectReport());
+        response.setRejectsFileAvailable(job.getRejectsFilePath() != null);
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        return response;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public void setRowsParsed(long rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public void setRowsInserted(long rowsInserted) {
+        this.rowsInserted = rowsInserted;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public ImportRejectReport getRejects() {
+        return rejects;
+    }
+
+    public void setRejects(ImportRejectReport rejects) {
+        this.rejects = rejects;
+    }
+
+    public boolean isRejectsFileAvailable() {
+        return rejectsFileAvailable;
+    }
+
+    public void setRejectsFileAvailable(boolean rejectsFileAvailable) {
+        this.rejectsFileAvailable = rejectsFileAvailable;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Enums.ImportRejectReason;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded summary of the rows an import rejected: a count per reason plus the first
+ * {@code maxSamples} rejected rows. Its size does not depend on how many rows were rejected.
+ */
+public class ImportRejectReport {
+
+    private Map<ImportRejectReason, Long> countsByReason = new EnumMap<>(ImportRejectReason.class);
+
+    private List<RejectedRow> samples = new ArrayList<>();
+
+    private int maxSamples;
+
+    public ImportRejectReport() {
+    }
+
+    public ImportRejectReport(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    public void record(RejectedRow row) {
+        countsByReason.merge(row.getReason(), 1L, Long::sum);
+        if (samples.size() < maxSamples) {
+            samples.add(row);
+        }
+    }
+
+    public boolean isEmpty() {
+        return countsByReason.isEmpty();
+    }
+
+    public Map<ImportRejectReason, Long> getCountsByReason() {
+        return countsByReason;
+    }
+
+    public void setCountsByReason(Map<ImportRejectReason, Long> countsByReason) {
+        this.countsByReason = countsByReason;
+    }
+
+    public List<RejectedRow> getSamples() {
+        return samples;
+    }
+
+    public void setSamples(List<RejectedRow> samples) {
+        this.samples = samples;
+    }
+
+    public int getMaxSamples() {
+        return maxSamples;
+    }
+
+    public void setMaxSamples(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * One rejected CSV row. {@code column} is the CSV column name, or null when the record as a
+     * whole could not be read.
+     */
+    public static class RejectedRow {
+
+        private int row;
+
+        private String column;
+
+        private ImportRejectReason reason;
+
+        private String detail;
+
+        public RejectedRow() {
+        }
+
+        public RejectedRow(int row, String column, ImportRejectReason reason, String detail) {
+            this.row = row;
+            this.column = column;
+            this.reason = reason;
+            this.detail = detail;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public void setColumn(String column) {
+            this.column = column;
+        }
+
+        public ImportRejectReason getReason() {
+            return reason;
+        }
+
+        public void setReason(ImportRejectReason reason) {
+            this.reason = reason;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        public void setDetail(String detail) {
+            this.detail = detail;
+        }
+    }
+}
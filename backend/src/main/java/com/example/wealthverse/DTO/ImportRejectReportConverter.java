@@ -0,0 +1,36 @@
+package com.example.wealthverse.DTO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class ImportRejectReportConverter implements AttributeConverter<ImportRejectReport, String> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(ImportRejectReport attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize import reject report", e);
+        }
+    }
+
+    @Override
+    public ImportRejectReport convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(dbData, ImportRejectReport.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read import reject report", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.DTO.ImportRejectReport.RejectedRow;
+
+import java.util.function.Consumer;
+
+/**
+ * Running counters of a CSV import. Updated by the importer as rows are processed and handed to
+ * the progress listener after every persisted chunk. Rejected rows are summarised in a bounded
+ * {@link ImportRejectReport}; every one of them is also passed to the optional reject listener.
+ */
+public class ImportResult {
+
+    private long rowsParsed;
+    private long rowsInserted;
+    private long rowsSkipped;
+    private long rowsFailed;
+
+    private final ImportRejectReport rejects;
+    private final Consumer<RejectedRow> rejectListener;
+
+    public ImportResult(int maxRejectSamples, Consumer<RejectedRow> rejectListener) {
+        this.rejects = new ImportRejectReport(maxRejectSamples);
+        this.rejectListener = rejectListener;
+    }
+
+    public void rowParsed() {
+        rowsParsed++;
+    }
+
+    public void rowsInserted(int count) {
+        rowsInserted += count;
+    }
+
+    public void rowSkipped(RejectedRow row) {
+        rowsSkipped++;
+        reject(row);
+    }
+
+    public void rowFailed(RejectedRow row) {
+        rowsFailed++;
+        reject(row);
+    }
+
+    private void reject(RejectedRow row) {
+        rejects.record(row);
+        if (rejectListener != null) {
+            rejectListener.accept(row);
+        }
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public ImportRejectReport getRejects() {
+        return rejects;
+    }
+}
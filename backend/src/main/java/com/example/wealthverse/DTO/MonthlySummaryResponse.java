@@ -33,13 +33,15 @@ public class MonthlySummaryResponse {
 
     public void calculateTotals() {
         if (categorySummaries != null) {
-            totalSpending = categorySummaries.stream()
-                    .map(CategorySummaryResponse::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            totalEmission = categorySummaries.stream()
-                    .map(CategorySummaryResponse::getTotalEmission)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // One pass, summed in fixed point; same results as adding the BigDecimals
+            FixedPointSum spending = new FixedPointSum(2);
+            FixedPointSum emission = new FixedPointSum(5);
+            for (CategorySummaryResponse category : categorySummaries) {
+                spending.add(category.getTotalAmount());
+                emission.add(category.getTotalEmission());
+            }
+            totalSpending = spending.toBigDecimal();
+            totalEmission = emission.toBigDecimal();
 
             // Calculate emission percentages for each category
             if (totalEmission.compareTo(BigDecimal.ZERO) > 0) {
@@ -37,16 +37,16 @@ public class MultiMonthSummaryResponse {
      */
     public void calculateTotals() {
         if (monthlySummaries != null && !monthlySummaries.isEmpty()) {
-            // Reset totals
-            totalSpendingAllMonths = BigDecimal.ZERO;
-            totalEmissionAllMonths = BigDecimal.ZERO;
+            // Summed in fixed point; same results as adding the BigDecimals
+            FixedPointSum spending = new FixedPointSum(2);
+            FixedPointSum emission = new FixedPointSum(5);
             monthlyTotals.clear();
 
             // Calculate totals and collect monthly data points
             for (MonthlySummaryResponse monthly : monthlySummaries) {
                 // Add to grand totals
-                totalSpendingAllMonths = totalSpendingAllMonths.add(monthly.getTotalSpending());
-                totalEmissionAllMonths = totalEmissionAllMonths.add(monthly.getTotalEmission());
+                spending.add(monthly.getTotalSpending());
+                emission.add(monthly.getTotalEmission());
 
                 // Add monthly data point
                 MonthlyTotalResponse monthlyTotal = new MonthlyTotalResponse();
@@ -55,6 +55,8 @@ public class MultiMonthSummaryResponse {
                 monthlyTotal.setTotalEmission(monthly.getTotalEmission());
                 monthlyTotals.add(monthlyTotal);
             }
+            totalSpendingAllMonths = spending.toBigDecimal();
+            totalEmissionAllMonths = emission.toBigDecimal();
         }
     }
 
@@ -0,0 +1,80 @@
+package com.example.wealthverse.DTO;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-category spending and emission totals over an arbitrary month range (both ends inclusive).
+ */
+@Data
+@Getter
+@Setter
+public class RangeSummaryResponse {
+
+    private String from;
+    private String to;
+    private List<CategorySummaryResponse> categorySummaries = new ArrayList<>();
+    private BigDecimal totalSpending = BigDecimal.ZERO;
+    private BigDecimal totalEmission = BigDecimal.ZERO;
+
+    public RangeSummaryResponse() {
+    }
+
+    public void calculateTotals() {
+        FixedPointSum spending = new FixedPointSum(2);
+        FixedPointSum emission = new FixedPointSum(5);
+        for (CategorySummaryResponse category : categorySummaries) {
+            spending.add(category.getTotalAmount());
+            emission.add(category.getTotalEmission());
+        }
+        totalSpending = spending.toBigDecimal();
+        totalEmission = emission.toBigDecimal();
+
+        if (totalEmission.compareTo(BigDecimal.ZERO) > 0) {
+            categorySummaries.forEach(category -> category.calculateEmissionPercentage(totalEmission));
+        }
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public List<CategorySummaryResponse> getCategorySummaries() {
+        return categorySummaries;
+    }
+
+    public void setCategorySummaries(List<CategorySummaryResponse> categorySummaries) {
+        this.categorySummaries = categorySummaries;
+    }
+
+    public BigDecimal getTotalSpending() {
+        return totalSpending;
+    }
+
+    public void setTotalSpending(BigDecimal totalSpending) {
+        this.totalSpending = totalSpending;
+    }
+
+    public BigDecimal getTotalEmission() {
+        return totalEmission;
+    }
+
+    public void setTotalEmission(BigDecimal totalEmission) {
+        this.totalEmission = totalEmission;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Model.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount and emission to add to one summary row. Sums in fixed point ({@link FixedPointSum}), so
+ * reducing many transactions to one delta does not allocate per transaction.
+ */
+public class SummaryDelta {
+
+    private static final int AMOUNT_SCALE = 2;
+    private static final int EMISSION_SCALE = Transaction.CARBON_EMISSION_SCALE;
+
+    private final FixedPointSum amount;
+    private final FixedPointSum emission;
+
+    public SummaryDelta() {
+        this(new FixedPointSum(AMOUNT_SCALE), new FixedPointSum(EMISSION_SCALE));
+    }
+
+    private SummaryDelta(FixedPointSum amount, FixedPointSum emission) {
+        this.amount = amount;
+        this.emission = emission;
+    }
+
+    public void add(BigDecimal amount, BigDecimal emission) {
+        this.amount.add(amount);
+        this.emission.add(emission);
+    }
+
+    /**
+     * New delta holding the sum of both; neither operand is changed.
+     */
+    public SummaryDelta plus(SummaryDelta other) {
+        return new SummaryDelta(amount.copy().add(other.amount), emission.copy().add(other.emission));
+    }
+
+    /**
+     * Whether both sums are still on the fixed-point path.
+     */
+    boolean isFixedPoint() {
+        return amount.isFixedPoint() && emission.isFixedPoint();
+    }
+
+    public BigDecimal getAmount() {
+        return amount.toBigDecimal();
+    }
+
+    public BigDecimal getEmission() {
+        return emission.toBigDecimal();
+    }
+}
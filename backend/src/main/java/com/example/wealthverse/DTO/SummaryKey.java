@@ -0,0 +1,36 @@
+package com.example.wealthverse.DTO;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+
+/**
+ * Identity of one monthly_category_summaries row.
+ */
+public record SummaryKey(Long userId, YearMonth yearMonth, Long categoryId) implements Comparable<SummaryKey> {
+
+    private static final Comparator<SummaryKey> ORDER = Comparator
+            .comparing(SummaryKey::userId)
+            .thenComparing(SummaryKey::yearMonth)
+            .thenComparing(SummaryKey::categoryId);
+
+    /**
+     * Months since year 0 ({@code year * 12 + month - 1}); numeric and ordered like the months
+     * themselves, so month ranges are plain index range scans.
+     */
+    public static int monthKey(YearMonth yearMonth) {
+        return yearMonth.getYear() * 12 + yearMonth.getMonthValue() - 1;
+    }
+
+    public static YearMonth fromMonthKey(int monthKey) {
+        return YearMonth.of(Math.floorDiv(monthKey, 12), Math.floorMod(monthKey, 12) + 1);
+    }
+
+    public int monthKey() {
+        return monthKey(yearMonth);
+    }
+
+    @Override
+    public int compareTo(SummaryKey other) {
+        return ORDER.compare(this, other);
+    }
+}
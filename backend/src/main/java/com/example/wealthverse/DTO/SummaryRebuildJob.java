@@ -0,0 +1,70 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Enums.RebuildJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An all-users summary rebuild running in the background. {@link #getResult()} grows as users are
+ * rebuilt, so polling the job shows its progress.
+ */
+public class SummaryRebuildJob {
+
+    private final SummaryRebuildResult result;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile RebuildJobStatus status = RebuildJobStatus.RUNNING;
+    private volatile long usersTotal;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    public SummaryRebuildJob(SummaryRebuildResult result) {
+        this.result = result;
+    }
+
+    public synchronized void complete() {
+        if (status == RebuildJobStatus.RUNNING) {
+            status = RebuildJobStatus.COMPLETED;
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    public synchronized void fail(String errorMessage) {
+        if (status == RebuildJobStatus.RUNNING) {
+            this.errorMessage = errorMessage;
+            status = RebuildJobStatus.FAILED;
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isRunning() {
+        return status == RebuildJobStatus.RUNNING;
+    }
+
+    public RebuildJobStatus getStatus() {
+        return status;
+    }
+
+    public SummaryRebuildResult getResult() {
+        return result;
+    }
+
+    public long getUsersTotal() {
+        return usersTotal;
+    }
+
+    public void setUsersTotal(long usersTotal) {
+        this.usersTotal = usersTotal;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.wealthverse.DTO;
+
+import java.time.YearMonth;
+
+/**
+ * Outcome of a summary rebuild for one user or, summed up, for all users.
+ */
+public class SummaryRebuildResult {
+
+    private final YearMonth from;
+    private final YearMonth to;
+    private long usersRebuilt;
+    private long transactionsScanned;
+    private long summaryRowsWritten;
+
+    public SummaryRebuildResult(YearMonth from, YearMonth to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public SummaryRebuildResult(YearMonth from, YearMonth to, long transactionsScanned, long summaryRowsWritten) {
+        this(from, to);
+        this.usersRebuilt = 1;
+        this.transactionsScanned = transactionsScanned;
+        this.summaryRowsWritten = summaryRowsWritten;
+    }
+
+    public synchronized void add(SummaryRebuildResult other) {
+        usersRebuilt += other.usersRebuilt;
+        transactionsScanned += other.transactionsScanned;
+        summaryRowsWritten += other.summaryRowsWritten;
+    }
+
+    public YearMonth getFrom() {
+        return from;
+    }
+
+    public YearMonth getTo() {
+        return to;
+    }
+
+    public synchronized long getUsersRebuilt() {
+        return usersRebuilt;
+    }
+
+    public synchronized long getTransactionsScanned() {
+        return transactionsScanned;
+    }
+
+    public synchronized long getSummaryRowsWritten() {
+        return summaryRowsWritten;
+    }
+}
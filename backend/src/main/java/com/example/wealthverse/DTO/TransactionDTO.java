@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 @Setter
 public class TransactionDTO {
 
+    // TransactionRepository.DTO_SELECT calls the all-args constructor: keep its arguments in field order
     private Long id;
 
     @Column(precision = 12, scale = 2)
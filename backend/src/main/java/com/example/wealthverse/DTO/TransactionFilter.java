@@ -0,0 +1,112 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Query parameters of the transaction filter; every criterion is optional and they combine with
+ * AND. {@code from}/{@code to} are inclusive dates, {@code minAmount}/{@code maxAmount} inclusive
+ * bounds, and {@code merchant} matches the merchant name exactly, ignoring case.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TransactionFilter {
+
+    private Long categoryId;
+
+    private PaymentMode paymentMode;
+
+    private TransactionType transactionType;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private String merchant;
+
+    /**
+     * Whether one of the criteria leads an index (see the indexes on {@code Transaction}). Payment
+     * mode, type and amount are only checked on the rows an index scan reaches.
+     */
+    public boolean hasIndexedCriterion() {
+        return categoryId != null || (merchant != null && !merchant.isBlank()) || from != null || to != null;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public PaymentMode getPaymentMode() {
+        return paymentMode;
+    }
+
+    public void setPaymentMode(PaymentMode paymentMode) {
+        this.paymentMode = paymentMode;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getMerchant() {
+        return merchant;
+    }
+
+    public void setMerchant(String merchant) {
+        this.merchant = merchant;
+    }
+}
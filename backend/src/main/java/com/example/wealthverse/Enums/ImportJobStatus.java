@@ -0,0 +1,9 @@
+package com.example.wealthverse.Enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    INTERRUPTED
+}
@@ -0,0 +1,26 @@
+package com.example.wealthverse.Enums;
+
+public enum ImportRejectReason {
+    INSUFFICIENT_COLUMNS,
+    EMPTY_MERCHANT,
+    INVALID_AMOUNT,
+    INVALID_PAYMENT_MODE,
+    INVALID_TRANSACTION_TYPE,
+    INVALID_TIMESTAMP,
+    MALFORMED_RECORD,
+    DUPLICATE;
+
+    /**
+     * Reason for a value that could not be parsed in the given zero-based CSV column.
+     */
+    public static ImportRejectReason forColumn(int column) {
+        return switch (column) {
+            case 0 -> INVALID_AMOUNT;
+            case 1 -> INVALID_PAYMENT_MODE;
+            case 2, 3 -> EMPTY_MERCHANT;
+            case 4 -> INVALID_TRANSACTION_TYPE;
+            case 5 -> INVALID_TIMESTAMP;
+            default -> MALFORMED_RECORD;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.wealthverse.Enums;
+
+public enum RebuildJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
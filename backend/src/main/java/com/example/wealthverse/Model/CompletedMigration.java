@@ -0,0 +1,40 @@
+package com.example.wealthverse.Model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a one-off data migration as done, so it is not repeated on the next start.
+ */
+@Entity
+@Data
+@Table(name = "completed_migrations")
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletedMigration {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
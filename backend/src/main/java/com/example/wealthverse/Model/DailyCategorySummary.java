@@ -0,0 +1,113 @@
+package com.example.wealthverse.Model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-day counterpart of {@link MonthlyCategorySummary}, maintained by the same writes; backs the
+ * daily chart series.
+ */
+@Entity
+@Table(name = "daily_category_summaries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_dcs_user_date_category", columnNames = {"user_id", "summary_date", "category_id"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyCategorySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_emission", nullable = false, precision = 15, scale = Transaction.CARBON_EMISSION_SCALE)
+    private BigDecimal totalEmission = BigDecimal.ZERO;
+
+    @Column(name = "last_aggregated_at", nullable = false)
+    private LocalDateTime lastAggregatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private Category category;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getSummaryDate() {
+        return summaryDate;
+    }
+
+    public void setSummaryDate(LocalDate summaryDate) {
+        this.summaryDate = summaryDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getTotalEmission() {
+        return totalEmission;
+    }
+
+    public void setTotalEmission(BigDecimal totalEmission) {
+        this.totalEmission = totalEmission;
+    }
+
+    public LocalDateTime getLastAggregatedAt() {
+        return lastAggregatedAt;
+    }
+
+    public void setLastAggregatedAt(LocalDateTime lastAggregatedAt) {
+        this.lastAggregatedAt = lastAggregatedAt;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+}
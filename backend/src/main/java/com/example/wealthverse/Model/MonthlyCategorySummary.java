@@ -1,5 +1,6 @@
 package com.example.wealthverse.Model;
 
+import com.example.wealthverse.DTO.SummaryKey;
 import com.example.wealthverse.DTO.YearMonthAttributeConverter;
 import jakarta.persistence.*;
 import lombok.*;
@@ -12,8 +13,11 @@ import java.util.Objects;
 @Entity
 @Table(name = "monthly_category_summaries",
         indexes = {
-                @Index(name = "idx_mcs_user_yearmonth", columnList = "user_id, year_month"),
                 @Index(name = "idx_mcs_category", columnList = "category_id")
+        },
+        uniqueConstraints = {
+                // Also serves single-month and month-range lookups by (user_id, month_key)
+                @UniqueConstraint(name = "uk_mcs_user_monthkey_category", columnNames = {"user_id", "month_key", "category_id"})
         })
 @Getter
 @Setter
@@ -35,13 +39,17 @@ public class MonthlyCategorySummary {
     @Column(name = "month_year", nullable = false, length = 7)
     private YearMonth yearMonth;
 
+    // SummaryKey.monthKey(yearMonth); kept in sync by setYearMonth
+    @Column(name = "month_key")
+    private Integer monthKey;
+
     @Column(name = "category_id", nullable = false)
     private Long categoryId;
 
     @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalAmount = BigDecimal.ZERO; // Default value to prevent null
 
-    @Column(name = "total_emission", nullable = false, precision = 12, scale = 2)
+    @Column(name = "total_emission", nullable = false, precision = 15, scale = Transaction.CARBON_EMISSION_SCALE)
     private BigDecimal totalEmission = BigDecimal.ZERO; // Default value to prevent null
 
     @Column(name = "last_aggregated_at", nullable = false)
@@ -58,7 +66,7 @@ public class MonthlyCategorySummary {
     public MonthlyCategorySummary(Long userId, YearMonth yearMonth, Long categoryId, BigDecimal totalAmount, BigDecimal totalEmission, LocalDateTime updatedAt) {
         this.categoryId = categoryId;
         this.userId = userId;
-        this.yearMonth = yearMonth;
+        setYearMonth(yearMonth);
         this.totalAmount = totalAmount;
         this.totalEmission = totalEmission;
         this.lastAggregatedAt = updatedAt;
@@ -80,7 +88,7 @@ public class MonthlyCategorySummary {
                                   User user, Category category) {
         this.id = id;
         this.userId = userId;
-        this.yearMonth = yearMonth;
+        setYearMonth(yearMonth);
         this.categoryId = categoryId;
         this.totalAmount = totalAmount;
         this.totalEmission = totalEmission;
@@ -122,6 +130,11 @@ public class MonthlyCategorySummary {
 
     public void setYearMonth(YearMonth yearMonth) {
         this.yearMonth = yearMonth;
+        this.monthKey = (yearMonth != null) ? SummaryKey.monthKey(yearMonth) : null;
+    }
+
+    public Integer getMonthKey() {
+        return monthKey;
     }
 
     public Long getCategoryId() {
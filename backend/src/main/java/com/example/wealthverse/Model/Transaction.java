@@ -7,16 +7,32 @@ import lombok.*;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = {
+                // Seek index for the newest-first list: WHERE user_id = ? AND (created_at, id) < (?, ?).
+                // Also serves date ranges, and filters on payment mode, type or amount, which are
+                // checked on the rows the seek reaches
+                @Index(name = "idx_transactions_user_created_id", columnList = "user_id, created_at, id"),
+                // Filter by category or merchant (with or without a date range), still in list order
+                @Index(name = "idx_transactions_user_category_created_id", columnList = "user_id, category_id, created_at, id"),
+                @Index(name = "idx_transactions_user_merchant_created_id", columnList = "user_id, merchant_name, created_at, id")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_transactions_user_fingerprint", columnNames = {"user_id", "fingerprint"})
+        })
 @AllArgsConstructor
 @Builder
 public class Transaction {
 
+    // Scale of carbon_emission; emissions are rounded to it before they are summed into summaries
+    public static final int CARBON_EMISSION_SCALE = 5;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -45,12 +61,16 @@ public class Transaction {
     private Boolean isGloballyMapped = false;
 
 
-    @Column(precision = 17, scale = 5)
+    @Column(precision = 17, scale = CARBON_EMISSION_SCALE)
     private BigDecimal carbonEmission;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
+    // See TransactionFingerprint; null only for rows not yet backfilled or left as existing duplicates
+    @Column(length = 64)
+    private String fingerprint;
+
     public Long getId() {
         return id;
     }
@@ -151,4 +171,21 @@ public class Transaction {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Emission of spending {@code amount} at {@code emissionFactor}, rounded half up to the column
+     * scale the way MySQL stores it. Without the rounding an amount (scale 2) times a factor
+     * (scale 5) has scale 7, and the in-memory summary deltas would differ from the stored rows.
+     */
+    public static BigDecimal carbonEmissionOf(BigDecimal amount, BigDecimal emissionFactor) {
+        return amount.multiply(emissionFactor).setScale(CARBON_EMISSION_SCALE, RoundingMode.HALF_UP);
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.wealthverse.Model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Yearly rollup of {@link MonthlyCategorySummary}, maintained by the same writes. Lets long report
+ * windows read one row per category and year instead of twelve.
+ */
+@Entity
+@Table(name = "yearly_category_summaries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_ycs_user_year_category", columnNames = {"user_id", "summary_year", "category_id"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class YearlyCategorySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "summary_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_emission", nullable = false, precision = 17, scale = Transaction.CARBON_EMISSION_SCALE)
+    private BigDecimal totalEmission = BigDecimal.ZERO;
+
+    @Column(name = "last_aggregated_at", nullable = false)
+    private LocalDateTime lastAggregatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    private Category category;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public BigDecimal getTotalEmission() {
+        return totalEmission;
+    }
+
+    public void setTotalEmission(BigDecimal totalEmission) {
+        this.totalEmission = totalEmission;
+    }
+
+    public LocalDateTime getLastAggregatedAt() {
+        return lastAggregatedAt;
+    }
+
+    public void setLastAggregatedAt(LocalDateTime lastAggregatedAt) {
+        this.lastAggregatedAt = lastAggregatedAt;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.wealthverse.Repository;
 import com.example.wealthverse.Model.Category;
 import com.example.wealthverse.Model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +16,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
     Optional<Category> findByNameAndUserId(String newCategoryName, Long userId);
+
+    @Query("SELECT c FROM Category c WHERE c.user IS NULL OR c.user.id = 1")
+    List<Category> findGlobalCategories();
 }
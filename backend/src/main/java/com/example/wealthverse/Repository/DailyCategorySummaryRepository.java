@@ -0,0 +1,31 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.DailyTotal;
+import com.example.wealthverse.Model.DailyCategorySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCategorySummaryRepository extends JpaRepository<DailyCategorySummary, Long> {
+
+    @Query("SELECT new com.example.wealthverse.DTO.DailyTotal(dcs.summaryDate, SUM(dcs.totalAmount), SUM(dcs.totalEmission)) " +
+            "FROM DailyCategorySummary dcs " +
+            "WHERE dcs.userId = :userId AND dcs.summaryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY dcs.summaryDate")
+    List<DailyTotal> sumByDate(@Param("userId") Long userId,
+                               @Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.example.wealthverse.DTO.DailyTotal(dcs.summaryDate, dcs.totalAmount, dcs.totalEmission) " +
+            "FROM DailyCategorySummary dcs " +
+            "WHERE dcs.userId = :userId AND dcs.categoryId = :categoryId AND dcs.summaryDate BETWEEN :startDate AND :endDate")
+    List<DailyTotal> findByCategory(@Param("userId") Long userId,
+                                    @Param("categoryId") Long categoryId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+}
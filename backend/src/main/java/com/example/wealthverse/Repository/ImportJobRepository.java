@@ -0,0 +1,18 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.Enums.ImportJobStatus;
+import com.example.wealthverse.Model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -26,4 +27,13 @@ public interface MerchantCategoryMappingRepository extends JpaRepository<Merchan
             @Param("merchantName") String merchantName,
             @Param("userId") Long userId);
 
+    @Query("SELECT m FROM MerchantCategoryMapping m " +
+            "JOIN FETCH m.category " +
+            "JOIN FETCH m.user " +
+            "WHERE m.merchantName IN :merchantNames " +
+            "AND (m.user.id = :userId OR m.user.id = 1)")
+    List<MerchantCategoryMapping> findCandidateMappings(
+            @Param("merchantNames") Collection<String> merchantNames,
+            @Param("userId") Long userId);
+
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.example.wealthverse.Repository;
 
+import com.example.wealthverse.DTO.CategoryTotal;
+import com.example.wealthverse.DTO.SummaryKey;
 import com.example.wealthverse.Model.MonthlyCategorySummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,30 +17,54 @@ import java.util.Optional;
 @Repository
 public interface MonthlyCategorySummaryRepository extends JpaRepository<MonthlyCategorySummary, Long> {
 
+    // All lookups go through month_key, the second column of the (user_id, month_key, category_id) key
 
-    Optional<MonthlyCategorySummary> findByUserIdAndYearMonthAndCategoryId(
-            Long userId, YearMonth yearMonth, Long categoryId);
+    Optional<MonthlyCategorySummary> findByUserIdAndMonthKeyAndCategoryId(
+            Long userId, Integer monthKey, Long categoryId);
 
-    void deleteByUserIdAndYearMonth(Long userId, YearMonth yearMonth);
+    default Optional<MonthlyCategorySummary> findByUserIdAndYearMonthAndCategoryId(
+            Long userId, YearMonth yearMonth, Long categoryId) {
+        return findByUserIdAndMonthKeyAndCategoryId(userId, SummaryKey.monthKey(yearMonth), categoryId);
+    }
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySummary mcs WHERE mcs.userId = :userId AND mcs.monthKey = :monthKey")
+    int deleteByUserIdAndMonthKey(@Param("userId") Long userId, @Param("monthKey") int monthKey);
 
 
     @Query("SELECT mcs FROM MonthlyCategorySummary mcs " +
             "JOIN FETCH mcs.category " +
-            "WHERE mcs.userId = :userId AND mcs.yearMonth = :yearMonth")
-
-    List<MonthlyCategorySummary> findByUserIdAndYearMonthWithCategory(
+            "WHERE mcs.userId = :userId AND mcs.monthKey = :monthKey")
+    List<MonthlyCategorySummary> findByUserIdAndMonthKeyWithCategory(
             @Param("userId") Long userId,
-            @Param("yearMonth") YearMonth yearMonth);
+            @Param("monthKey") int monthKey);
+
+    default List<MonthlyCategorySummary> findByUserIdAndYearMonthWithCategory(Long userId, YearMonth yearMonth) {
+        return findByUserIdAndMonthKeyWithCategory(userId, SummaryKey.monthKey(yearMonth));
+    }
 
 
     @Query("SELECT mcs FROM MonthlyCategorySummary mcs " +
             "JOIN FETCH mcs.category " +
-            "WHERE mcs.userId = :userId AND " +
-            "CAST(mcs.yearMonth AS string) BETWEEN CAST(:startYearMonth AS string) AND CAST(:endYearMonth AS string) " +
-            "ORDER BY mcs.yearMonth ASC")
-    List<MonthlyCategorySummary> findByUserIdAndYearMonthRangeWithCategory(
+            "WHERE mcs.userId = :userId AND mcs.monthKey BETWEEN :startMonthKey AND :endMonthKey " +
+            "ORDER BY mcs.monthKey ASC")
+    List<MonthlyCategorySummary> findByUserIdAndMonthKeyRangeWithCategory(
             @Param("userId") Long userId,
-            @Param("startYearMonth") YearMonth startYearMonth,
-            @Param("endYearMonth") YearMonth endYearMonth);
+            @Param("startMonthKey") int startMonthKey,
+            @Param("endMonthKey") int endMonthKey);
+
+    default List<MonthlyCategorySummary> findByUserIdAndYearMonthRangeWithCategory(
+            Long userId, YearMonth startYearMonth, YearMonth endYearMonth) {
+        return findByUserIdAndMonthKeyRangeWithCategory(userId,
+                SummaryKey.monthKey(startYearMonth), SummaryKey.monthKey(endYearMonth));
+    }
+
+    @Query("SELECT new com.example.wealthverse.DTO.CategoryTotal(mcs.categoryId, c.name, SUM(mcs.totalAmount), SUM(mcs.totalEmission)) " +
+            "FROM MonthlyCategorySummary mcs JOIN mcs.category c " +
+            "WHERE mcs.userId = :userId AND mcs.monthKey BETWEEN :startMonthKey AND :endMonthKey " +
+            "GROUP BY mcs.categoryId, c.name")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId,
+                                      @Param("startMonthKey") int startMonthKey,
+                                      @Param("endMonthKey") int endMonthKey);
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.DailySummaryKey;
+import com.example.wealthverse.DTO.SummaryDelta;
+import com.example.wealthverse.DTO.SummaryKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Applies summary deltas with {@code INSERT ... ON DUPLICATE KEY UPDATE} against the unique
+ * (user_id, month_key, category_id) key. The increment happens inside the database, so there is no
+ * read-modify-write in Java, and all deltas go out as JDBC batches (one multi-row statement per
+ * batch with {@code rewriteBatchedStatements=true}).
+ *
+ * Deltas arrive per (user, day, category) and are applied to daily_category_summaries, then
+ * summed into monthly_category_summaries and from there into yearly_category_summaries, so the
+ * three levels always move together within the caller's transaction.
+ */
+@Repository
+public class MonthlyCategorySummaryWriter {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO monthly_category_summaries (user_id, month_year, month_key, category_id, total_amount, total_emission, last_aggregated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                    "total_emission = total_emission + VALUES(total_emission), " +
+                    "last_aggregated_at = VALUES(last_aggregated_at)";
+
+    private static final String DAILY_UPSERT_SQL =
+            "INSERT INTO daily_category_summaries (user_id, summary_date, category_id, total_amount, total_emission, last_aggregated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                    "total_emission = total_emission + VALUES(total_emission), " +
+                    "last_aggregated_at = VALUES(last_aggregated_at)";
+
+    private static final String YEARLY_UPSERT_SQL =
+            "INSERT INTO yearly_category_summaries (user_id, summary_year, category_id, total_amount, total_emission, last_aggregated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                    "total_emission = total_emission + VALUES(total_emission), " +
+                    "last_aggregated_at = VALUES(last_aggregated_at)";
+
+    private static final String YEARLY_RECOMPUTE_SQL =
+            "INSERT INTO yearly_category_summaries (user_id, summary_year, category_id, total_amount, total_emission, last_aggregated_at) " +
+                    "SELECT user_id, month_key DIV 12, category_id, SUM(total_amount), SUM(total_emission), NOW() " +
+                    "FROM monthly_category_summaries ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wealthverse.import.jdbc-batch-size:500}")
+    private int batchSize;
+
+    public MonthlyCategorySummaryWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addDeltas(Map<DailySummaryKey, SummaryDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Always lock rows in key order, so concurrent writers cannot deadlock on each other
+        List<Map.Entry<DailySummaryKey, SummaryDelta>> rows = new ArrayList<>(deltas.entrySet());
+        rows.sort(Map.Entry.comparingByKey());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(DAILY_UPSERT_SQL, rows, batchSize, (ps, row) -> {
+            DailySummaryKey key = row.getKey();
+            ps.setLong(1, key.userId());
+            ps.setDate(2, Date.valueOf(key.date()));
+            ps.setLong(3, key.categoryId());
+            ps.setBigDecimal(4, row.getValue().getAmount());
+            ps.setBigDecimal(5, row.getValue().getEmission());
+            ps.setTimestamp(6, now);
+        });
+
+        // Sorted maps, so the monthly and yearly rows are locked in key order as well
+        Map<SummaryKey, SummaryDelta> monthly = new TreeMap<>();
+        for (Map.Entry<DailySummaryKey, SummaryDelta> row : rows) {
+            monthly.computeIfAbsent(row.getKey().month(), k -> new SummaryDelta())
+                    .add(row.getValue().getAmount(), row.getValue().getEmission());
+        }
+        List<Map.Entry<SummaryKey, SummaryDelta>> monthlyRows = new ArrayList<>(monthly.entrySet());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, monthlyRows, batchSize, (ps, row) -> {
+            SummaryKey key = row.getKey();
+            ps.setLong(1, key.userId());
+            ps.setString(2, key.yearMonth().toString());
+            ps.setInt(3, key.monthKey());
+            ps.setLong(4, key.categoryId());
+            ps.setBigDecimal(5, row.getValue().getAmount());
+            ps.setBigDecimal(6, row.getValue().getEmission());
+            ps.setTimestamp(7, now);
+        });
+
+        addYearlyDeltas(monthlyRows, now);
+    }
+
+    private void addYearlyDeltas(List<Map.Entry<SummaryKey, SummaryDelta>> monthlyRows, Timestamp now) {
+        Map<YearKey, SummaryDelta> yearly = new TreeMap<>();
+        for (Map.Entry<SummaryKey, SummaryDelta> row : monthlyRows) {
+            SummaryKey key = row.getKey();
+            yearly.computeIfAbsent(new YearKey(key.userId(), key.yearMonth().getYear(), key.categoryId()), k -> new SummaryDelta())
+                    .add(row.getValue().getAmount(), row.getValue().getEmission());
+        }
+
+        jdbcTemplate.batchUpdate(YEARLY_UPSERT_SQL, new ArrayList<>(yearly.entrySet()), batchSize, (ps, row) -> {
+            YearKey key = row.getKey();
+            ps.setLong(1, key.userId());
+            ps.setInt(2, key.year());
+            ps.setLong(3, key.categoryId());
+            ps.setBigDecimal(4, row.getValue().getAmount());
+            ps.setBigDecimal(5, row.getValue().getEmission());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    /**
+     * Recomputes a user's yearly rollup for {@code fromYear..toYear} from the monthly rows, for
+     * writes that replace monthly rows instead of adding to them (rebuild, reset).
+     */
+    public void recomputeYears(Long userId, int fromYear, int toYear) {
+        jdbcTemplate.update("DELETE FROM yearly_category_summaries WHERE user_id = ? AND summary_year BETWEEN ? AND ?",
+                userId, fromYear, toYear);
+        jdbcTemplate.update(YEARLY_RECOMPUTE_SQL +
+                        "WHERE user_id = ? AND month_key BETWEEN ? AND ? GROUP BY user_id, month_key DIV 12, category_id",
+                userId, fromYear * 12, toYear * 12 + 11);
+    }
+
+    /**
+     * Removes a user's daily rows for {@code from..to}, ahead of writing them again.
+     */
+    public int deleteDays(Long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.update(
+                "DELETE FROM daily_category_summaries WHERE user_id = ? AND summary_date BETWEEN ? AND ?",
+                userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Fills an empty daily table from the transactions table, with the same rules as the
+     * incremental writes (debits with a category; emission only when globally mapped).
+     */
+    public int recomputeAllDays(int debitOrdinal) {
+        return jdbcTemplate.update(
+                "INSERT INTO daily_category_summaries (user_id, summary_date, category_id, total_amount, total_emission, last_aggregated_at) " +
+                        "SELECT user_id, DATE(created_at), category_id, SUM(amount), " +
+                        "SUM(CASE WHEN is_globally_mapped THEN COALESCE(carbon_emission, 0) ELSE 0 END), NOW() " +
+                        "FROM transactions " +
+                        "WHERE transaction_type = ? AND category_id IS NOT NULL AND amount IS NOT NULL " +
+                        "GROUP BY user_id, DATE(created_at), category_id",
+                debitOrdinal);
+    }
+
+    /**
+     * Fills an empty yearly rollup from all monthly rows; used once when the table is introduced.
+     */
+    public int recomputeAllYears() {
+        return jdbcTemplate.update(YEARLY_RECOMPUTE_SQL +
+                "WHERE month_key IS NOT NULL GROUP BY user_id, month_key DIV 12, category_id");
+    }
+
+    private record YearKey(Long userId, int year, Long categoryId) implements Comparable<YearKey> {
+
+        @Override
+        public int compareTo(YearKey other) {
+            int order = userId.compareTo(other.userId);
+            if (order == 0) {
+                order = Integer.compare(year, other.year);
+            }
+            return order != 0 ? order : categoryId.compareTo(other.categoryId);
+        }
+    }
+
+    /**
+     * Removes the rows of {@code keys}, and the monthly and yearly rows they roll up into, whose
+     * totals went back to zero, e.g. after all of a month's transactions moved to another category.
+     * Every delete is a unique key lookup, in key order like the upserts.
+     */
+    public void deleteEmpty(Collection<DailySummaryKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<DailySummaryKey> days = new TreeSet<>(keys);
+        Set<SummaryKey> months = new TreeSet<>();
+        Set<YearKey> years = new TreeSet<>();
+        for (DailySummaryKey key : days) {
+            months.add(key.month());
+            years.add(new YearKey(key.userId(), key.date().getYear(), key.categoryId()));
+        }
+
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM daily_category_summaries WHERE user_id = ? AND summary_date = ? AND category_id = ? " +
+                        "AND total_amount = 0 AND total_emission = 0",
+                new ArrayList<>(days), batchSize, (ps, key) -> {
+                    ps.setLong(1, key.userId());
+                    ps.setDate(2, Date.valueOf(key.date()));
+                    ps.setLong(3, key.categoryId());
+                });
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM monthly_category_summaries WHERE user_id = ? AND month_key = ? AND category_id = ? " +
+                        "AND total_amount = 0 AND total_emission = 0",
+                new ArrayList<>(months), batchSize, (ps, key) -> {
+                    ps.setLong(1, key.userId());
+                    ps.setInt(2, key.monthKey());
+                    ps.setLong(3, key.categoryId());
+                });
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM yearly_category_summaries WHERE user_id = ? AND summary_year = ? AND category_id = ? " +
+                        "AND total_amount = 0 AND total_emission = 0",
+                new ArrayList<>(years), batchSize, (ps, key) -> {
+                    ps.setLong(1, key.userId());
+                    ps.setInt(2, key.year());
+                    ps.setLong(3, key.categoryId());
+                });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.Model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC writer for bulk-imported transactions.
+ *
+ * {@link Transaction} uses IDENTITY ids, which makes Hibernate give up on insert batching, so
+ * {@code saveAll} would issue one INSERT per row. This writer sends the rows through
+ * {@link JdbcTemplate#batchUpdate} instead; together with {@code rewriteBatchedStatements=true} on
+ * the MySQL driver every batch goes over the wire as a single multi-row INSERT. Generated ids are
+ * not read back, callers only need the rows in the database.
+ */
+@Repository
+public class TransactionBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (amount, payment_mode, merchant_id, merchant_name, transaction_type, " +
+                    "user_id, category_id, is_globally_mapped, carbon_emission, created_at, fingerprint) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wealthverse.import.jdbc-batch-size:500}")
+    private int batchSize;
+
+    public TransactionBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, batchSize, (ps, tx) -> {
+            ps.setBigDecimal(1, tx.getAmount());
+            // Enums are mapped with the JPA default (ORDINAL)
+            ps.setInt(2, tx.getPaymentMode().ordinal());
+            ps.setString(3, tx.getMerchantId());
+            ps.setString(4, tx.getMerchantName());
+            ps.setInt(5, tx.getTransactionType().ordinal());
+            ps.setLong(6, tx.getUser().getId());
+            ps.setLong(7, tx.getCategory().getId());
+            ps.setBoolean(8, Boolean.TRUE.equals(tx.getIsGloballyMapped()));
+            ps.setBigDecimal(9, tx.getCarbonEmission());
+            ps.setTimestamp(10, Timestamp.valueOf(tx.getCreatedAt()));
+            ps.setString(11, tx.getFingerprint());
+        });
+
+        return transactions.size();
+    }
+}
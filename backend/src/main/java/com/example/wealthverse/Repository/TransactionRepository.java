@@ -1,39 +1,158 @@
 package com.example.wealthverse.Repository;
 
-import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.DTO.DayCategoryTotals;
+import com.example.wealthverse.DTO.TransactionDTO;
 import com.example.wealthverse.Model.Category;
 import com.example.wealthverse.Model.Transaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
-    Page<Transaction> findAllByUserId(Long userId, Pageable pageable);
+    /**
+     * Select list of the list endpoints: builds {@link TransactionDTO}s straight from the row and
+     * the joined category name, so no entities are loaded and no lazy category is touched. The
+     * arguments follow the field order of TransactionDTO.
+     */
+    String DTO_SELECT = "SELECT new com.example.wealthverse.DTO.TransactionDTO(" +
+            "t.id, t.amount, t.paymentMode, t.merchantId, t.merchantName, t.transactionType, " +
+            "t.user.id, c.id, c.name, t.carbonEmission, t.createdAt, t.isGloballyMapped) " +
+            "FROM Transaction t LEFT JOIN t.category c ";
+
+    @Query(value = DTO_SELECT + "WHERE t.user.id = :userId",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    Page<TransactionDTO> findDtoPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Transactions with {@code from <= createdAt < to}; a range scan on (user_id, created_at, id).
+     */
+    @Query(value = DTO_SELECT + "WHERE t.user.id = :userId AND t.createdAt >= :from AND t.createdAt < :to",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.createdAt >= :from AND t.createdAt < :to")
+    Page<TransactionDTO> findDtoPageByUserIdInRange(@Param("userId") Long userId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    Pageable pageable);
+
+    /**
+     * Newest-first page that starts after the row ({@code afterCreatedAt}, {@code afterId}), or at
+     * the top when both are null. An index seek on (user_id, created_at, id), so the cost does not
+     * grow with the depth of the page. Pass {@code PageRequest.of(0, n)} as a limit; the list
+     * return type means no count query.
+     */
+    @Query(DTO_SELECT +
+            "WHERE t.user.id = :userId " +
+            "AND (:afterId IS NULL OR t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id < :afterId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDTO> findKeysetPage(@Param("userId") Long userId,
+                                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                        @Param("afterId") Long afterId,
+                                        Pageable limit);
+
+    /**
+     * {@link #findKeysetPage} limited to {@code from <= createdAt < to}.
+     */
+    @Query(DTO_SELECT +
+            "WHERE t.user.id = :userId AND t.createdAt >= :from AND t.createdAt < :to " +
+            "AND (:afterId IS NULL OR t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id < :afterId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDTO> findKeysetPageInRange(@Param("userId") Long userId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                            @Param("afterId") Long afterId,
+                                            Pageable limit);
+
+    /**
+     * All of a user's rows, oldest first, for the export. A fetch size of Integer.MIN_VALUE makes
+     * MySQL Connector/J stream the result row by row instead of reading it all into memory; the rows
+     * are DTOs, so nothing piles up in the persistence context either. Consume and close the stream
+     * inside a transaction, without running other queries on it meanwhile.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.createdAt, t.id")
+    Stream<TransactionDTO> streamForExport(@Param("userId") Long userId);
+
+    /**
+     * {@link #streamForExport} limited to {@code from <= createdAt < to}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(DTO_SELECT + "WHERE t.user.id = :userId AND t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt, t.id")
+    Stream<TransactionDTO> streamForExportInRange(@Param("userId") Long userId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    long countByUserId(Long userId);
+
+    /**
+     * The user's transaction count, but at most {@code limit}: reads no more than {@code limit}
+     * entries of the user_id index, however many transactions the user has.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM transactions WHERE user_id = :userId LIMIT :limit) probe",
+            nativeQuery = true)
+    long countByUserIdUpTo(@Param("userId") Long userId, @Param("limit") long limit);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.createdAt >= :from AND t.createdAt < :to")
+    long countByUserIdInRange(@Param("userId") Long userId,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to);
 
     // Category & Merchant Mapping
+    /**
+     * Moves all of a user's transactions of a merchant to {@code category}; they lose their global
+     * mapping and therefore their emission. {@code merchantName} must be upper case, like the stored
+     * names, so the (user_id, merchant_name, created_at, id) index is used.
+     */
     @Modifying
-    @Transactional
-    @Query("UPDATE Transaction t SET t.category = :category WHERE t.user.id = :userId AND UPPER(t.merchantName) = UPPER(:merchantName)")
-    int bulkUpdateCategory(@Param("category") Category category, @Param("userId") Long userId, @Param("merchantName") String merchantName);
-    List<Transaction> findByUserIdAndMerchantNameAndTransactionType(Long userId, String merchantName, TransactionType transactionType);
+    @Query("UPDATE Transaction t SET t.category = :category, t.carbonEmission = 0, t.isGloballyMapped = false " +
+            "WHERE t.user.id = :userId AND t.merchantName = :merchantName")
+    int recategorizeMerchant(@Param("category") Category category, @Param("userId") Long userId, @Param("merchantName") String merchantName);
+
+    /**
+     * Summary-relevant totals of the rows {@link #recategorizeMerchant} is about to change, grouped
+     * by day and current category. Locks the rows so they cannot change before the update.
+     */
+    @Query(value = "SELECT DATE_FORMAT(t.created_at, '%Y-%m-%d') AS day, t.category_id AS categoryId, " +
+            "SUM(t.amount) AS amount, " +
+            "SUM(CASE WHEN t.is_globally_mapped THEN COALESCE(t.carbon_emission, 0) ELSE 0 END) AS emission " +
+            "FROM transactions t " +
+            "WHERE t.user_id = :userId AND t.merchant_name = :merchantName " +
+            "AND t.transaction_type = :transactionType AND t.category_id IS NOT NULL AND t.amount IS NOT NULL " +
+            "GROUP BY day, categoryId " +
+            "FOR UPDATE", nativeQuery = true)
+    List<DayCategoryTotals> findMerchantTotalsForUpdate(@Param("userId") Long userId,
+                                                          @Param("merchantName") String merchantName,
+                                                          @Param("transactionType") int transactionType);
+
+    /**
+     * The transaction, locked, if it belongs to the user; other users' rows are neither returned nor locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Transaction> findByIdAndUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+
 
+    @Query("SELECT t.fingerprint FROM Transaction t WHERE t.user.id = :userId AND t.fingerprint IN :fingerprints")
+    List<String> findExistingFingerprints(@Param("userId") Long userId, @Param("fingerprints") Collection<String> fingerprints);
 
-    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND MONTH(t.createdAt) = :month AND YEAR(t.createdAt) = :year")
-    Page<Transaction> findAllByUserIdAndMonth(@Param("userId") Long userId,
-                                              @Param("month") int month,
-                                              @Param("year") int year,
-                                              Pageable pageable);
+    boolean existsByUserIdAndFingerprint(Long userId, String fingerprint);
 
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.Model.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Newest-first keyset page of the rows matching {@code spec}, as DTOs like
+     * {@link TransactionRepository#findKeysetPage}: starts after ({@code afterCreatedAt},
+     * {@code afterId}), or at the top when both are null, and returns at most {@code limit} rows.
+     */
+    List<TransactionDTO> findFilteredKeysetPage(Specification<Transaction> spec,
+                                                LocalDateTime afterCreatedAt,
+                                                Long afterId,
+                                                int limit);
+}
@@ -0,0 +1,64 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.Model.Category;
+import com.example.wealthverse.Model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria version of {@link TransactionRepository#DTO_SELECT} for predicates only known at run time.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionDTO> findFilteredKeysetPage(Specification<Transaction> spec,
+                                                       LocalDateTime afterCreatedAt,
+                                                       Long afterId,
+                                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDTO> query = cb.createQuery(TransactionDTO.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+
+        // Same arguments, in the same order, as DTO_SELECT
+        query.select(cb.construct(TransactionDTO.class,
+                t.get("id"), t.get("amount"), t.get("paymentMode"), t.get("merchantId"), t.get("merchantName"),
+                t.get("transactionType"), t.get("user").get("id"), c.get("id"), c.get("name"),
+                t.get("carbonEmission"), t.get("createdAt"), t.get("isGloballyMapped")));
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filter = spec.toPredicate(t, query, cb);
+        if (filter != null) {
+            where.add(filter);
+        }
+        Path<LocalDateTime> createdAt = t.get("createdAt");
+        Path<Long> id = t.get("id");
+        if (afterId != null) {
+            where.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
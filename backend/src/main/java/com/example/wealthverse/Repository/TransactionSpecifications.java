@@ -0,0 +1,74 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.DTO.TransactionFilter;
+import com.example.wealthverse.Model.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicates of the transaction filter. Each compares a bare column, so the user/category/merchant
+ * and created_at criteria can use the composite indexes declared on {@link Transaction}.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * The user's transactions matching every criterion set in {@code filter}.
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        Specification<Transaction> spec = Specification.where(ofUser(userId));
+        if (filter.getCategoryId() != null) {
+            spec = spec.and(inCategory(filter.getCategoryId()));
+        }
+        if (filter.getMerchant() != null && !filter.getMerchant().isBlank()) {
+            spec = spec.and(ofMerchant(filter.getMerchant()));
+        }
+        if (filter.getFrom() != null && filter.getTo() != null) {
+            spec = spec.and(createdIn(CreatedAtRange.ofDays(filter.getFrom(), filter.getTo())));
+        } else if (filter.getFrom() != null) {
+            LocalDateTime from = filter.getFrom().atStartOfDay();
+            spec = spec.and((t, query, cb) -> cb.greaterThanOrEqualTo(t.get("createdAt"), from));
+        } else if (filter.getTo() != null) {
+            LocalDateTime to = filter.getTo().plusDays(1).atStartOfDay();
+            spec = spec.and((t, query, cb) -> cb.lessThan(t.get("createdAt"), to));
+        }
+        if (filter.getPaymentMode() != null) {
+            spec = spec.and((t, query, cb) -> cb.equal(t.get("paymentMode"), filter.getPaymentMode()));
+        }
+        if (filter.getTransactionType() != null) {
+            spec = spec.and((t, query, cb) -> cb.equal(t.get("transactionType"), filter.getTransactionType()));
+        }
+        if (filter.getMinAmount() != null) {
+            spec = spec.and((t, query, cb) -> cb.greaterThanOrEqualTo(t.get("amount"), filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            spec = spec.and((t, query, cb) -> cb.lessThanOrEqualTo(t.get("amount"), filter.getMaxAmount()));
+        }
+        return spec;
+    }
+
+    public static Specification<Transaction> ofUser(Long userId) {
+        return (t, query, cb) -> cb.equal(t.get("user").get("id"), userId);
+    }
+
+    public static Specification<Transaction> inCategory(Long categoryId) {
+        return (t, query, cb) -> cb.equal(t.get("category").get("id"), categoryId);
+    }
+
+    /**
+     * Merchant names are stored upper case, so an upper-cased equality keeps the index usable.
+     */
+    public static Specification<Transaction> ofMerchant(String merchantName) {
+        return (t, query, cb) -> cb.equal(t.get("merchantName"), merchantName.trim().toUpperCase());
+    }
+
+    public static Specification<Transaction> createdIn(CreatedAtRange range) {
+        return (t, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(t.get("createdAt"), range.from()),
+                cb.lessThan(t.get("createdAt"), range.to()));
+    }
+}
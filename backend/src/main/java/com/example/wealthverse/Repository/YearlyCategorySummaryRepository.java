@@ -0,0 +1,22 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.CategoryTotal;
+import com.example.wealthverse.Model.YearlyCategorySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface YearlyCategorySummaryRepository extends JpaRepository<YearlyCategorySummary, Long> {
+
+    @Query("SELECT new com.example.wealthverse.DTO.CategoryTotal(ycs.categoryId, c.name, SUM(ycs.totalAmount), SUM(ycs.totalEmission)) " +
+            "FROM YearlyCategorySummary ycs JOIN ycs.category c " +
+            "WHERE ycs.userId = :userId AND ycs.year BETWEEN :startYear AND :endYear " +
+            "GROUP BY ycs.categoryId, c.name")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId,
+                                      @Param("startYear") int startYear,
+                                      @Param("endYear") int endYear);
+}
@@ -0,0 +1,230 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.Model.Category;
+import com.example.wealthverse.Repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory view of the category table.
+ *
+ * Global categories (no owner, or owned by the system user 1) are loaded once together with their
+ * emission factors; a user's own categories are loaded the first time they are needed and reloaded
+ * after {@link #refreshUser(Long)} whenever a new category is created for that user, which for user 1
+ * also reloads the global categories. At most {@code wealthverse.categories.user-cache-size} users'
+ * categories are kept. Names are matched case-insensitively, like the database collation does.
+ *
+ * Only ids, names and emission factors are cached, never entities: a cached entity would be detached
+ * with an uninitialized user. Lookups return a reference from the caller's persistence context,
+ * which is all that assigning a category takes and costs no query.
+ */
+@Component
+public class CategoryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRegistry.class);
+
+    // Owner of the global categories, besides categories without an owner
+    private static final Long GLOBAL_OWNER_ID = 1L;
+
+    private final CategoryRepository categoryRepository;
+
+    @Value("${wealthverse.categories.fallback-name:}")
+    private String fallbackCategoryName;
+
+    @Value("${wealthverse.categories.fallback-id:16}")
+    private Long fallbackCategoryId;
+
+    private volatile GlobalCategories globalCategories;
+
+    private final Cache<Long, Map<String, CategoryEntry>> userCategories;
+
+    public CategoryRegistry(CategoryRepository categoryRepository,
+                            @Value("${wealthverse.categories.user-cache-size:10000}") long userCacheSize) {
+        this.categoryRepository = categoryRepository;
+        this.userCategories = Caffeine.newBuilder()
+                .maximumSize(userCacheSize)
+                .build();
+    }
+
+    /**
+     * Category assigned to transactions whose merchant has no mapping. Resolved by
+     * {@code wealthverse.categories.fallback-name} when set, otherwise by {@code fallback-id}.
+     */
+    public Category getFallbackCategory() {
+        return reference(loadGlobalCategories().fallback);
+    }
+
+    public Optional<String> findNameById(Long id) {
+        CategoryEntry entry = loadGlobalCategories().byId.get(id);
+        if (entry != null) {
+            return Optional.of(entry.name());
+        }
+        return categoryRepository.findById(id).map(Category::getName);
+    }
+
+    /**
+     * Emission factor of the category with this name: a global category from the cache, otherwise
+     * any category of that name from the database.
+     */
+    public Optional<BigDecimal> findEmissionFactorByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        CategoryEntry global = loadGlobalCategories().byName.get(normalize(name));
+        if (global != null) {
+            return Optional.ofNullable(global.emissionFactor());
+        }
+        return categoryRepository.findByName(name).map(Category::getEmissionFactor);
+    }
+
+    /**
+     * Looks a name up among the user's own categories first and the global categories second.
+     */
+    public Optional<Category> findByName(String name, Long userId) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String key = normalize(name);
+
+        if (userId != null) {
+            CategoryEntry own = userCategories.get(userId, this::loadUserCategories).get(key);
+            if (own != null) {
+                return Optional.of(reference(own));
+            }
+        }
+
+        return Optional.ofNullable(loadGlobalCategories().byName.get(key)).map(this::reference);
+    }
+
+    /**
+     * Drops the cached categories of one user, and the global categories when the user is their
+     * owner, so they are reloaded on the next lookup; call after creating a category for them.
+     * Inside a transaction this happens once it has committed, so the reload cannot miss the new
+     * category or cache one that is rolled back.
+     */
+    public void refreshUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Runnable drop = () -> {
+            userCategories.invalidate(userId);
+            if (GLOBAL_OWNER_ID.equals(userId)) {
+                dropGlobal();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop.run();
+                }
+            });
+        } else {
+            drop.run();
+        }
+    }
+
+    /**
+     * Reloads the global categories, e.g. after emission factors were changed in the database.
+     */
+    public synchronized void refreshGlobal() {
+        dropGlobal();
+        loadGlobalCategories();
+    }
+
+    private synchronized void dropGlobal() {
+        globalCategories = null;
+    }
+
+    private GlobalCategories loadGlobalCategories() {
+        GlobalCategories loaded = globalCategories;
+        if (loaded != null) {
+            return loaded;
+        }
+
+        synchronized (this) {
+            if (globalCategories == null) {
+                List<Category> categories = categoryRepository.findGlobalCategories();
+                Map<Long, CategoryEntry> byId = new HashMap<>();
+                Map<String, CategoryEntry> byName = new HashMap<>();
+                for (Category category : categories) {
+                    CategoryEntry entry = CategoryEntry.of(category);
+                    byId.put(entry.id(), entry);
+                    byName.putIfAbsent(normalize(entry.name()), entry);
+                }
+
+                CategoryEntry fallback = resolveFallback(byId, byName);
+                globalCategories = new GlobalCategories(
+                        Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName), fallback);
+                logger.info("Loaded {} global categories, fallback category is '{}'",
+                        categories.size(), fallback.name());
+            }
+            return globalCategories;
+        }
+    }
+
+    private CategoryEntry resolveFallback(Map<Long, CategoryEntry> byId, Map<String, CategoryEntry> byName) {
+        if (fallbackCategoryName != null && !fallbackCategoryName.isBlank()) {
+            CategoryEntry category = byName.get(normalize(fallbackCategoryName));
+            if (category == null) {
+                throw new IllegalStateException("Fallback category not found with name " + fallbackCategoryName);
+            }
+            return category;
+        }
+
+        CategoryEntry category = byId.get(fallbackCategoryId);
+        if (category == null) {
+            category = categoryRepository.findById(fallbackCategoryId).map(CategoryEntry::of)
+                    .orElseThrow(() -> new IllegalStateException("Fallback category not found with ID " + fallbackCategoryId));
+        }
+        return category;
+    }
+
+    private Map<String, CategoryEntry> loadUserCategories(Long userId) {
+        Map<String, CategoryEntry> byName = new HashMap<>();
+        for (Category category : categoryRepository.findByUserId(userId)) {
+            byName.putIfAbsent(normalize(category.getName()), CategoryEntry.of(category));
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private Category reference(CategoryEntry entry) {
+        return categoryRepository.getReferenceById(entry.id());
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record CategoryEntry(Long id, String name, BigDecimal emissionFactor) {
+        private static CategoryEntry of(Category category) {
+            return new CategoryEntry(category.getId(), category.getName(), category.getEmissionFactor());
+        }
+    }
+
+    private static final class GlobalCategories {
+        private final Map<Long, CategoryEntry> byId;
+        private final Map<String, CategoryEntry> byName;
+        private final CategoryEntry fallback;
+
+        private GlobalCategories(Map<Long, CategoryEntry> byId, Map<String, CategoryEntry> byName, CategoryEntry fallback) {
+            this.byId = byId;
+            this.byName = byName;
+            this.fallback = fallback;
+        }
+    }
+}
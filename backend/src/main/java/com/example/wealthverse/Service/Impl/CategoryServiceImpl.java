@@ -6,6 +6,7 @@ import com.example.wealthverse.Model.Category;
 import com.example.wealthverse.Model.User;
 import com.example.wealthverse.Repository.CategoryRepository;
 import com.example.wealthverse.Repository.UserRepository;
+import com.example.wealthverse.Service.CategoryRegistry;
 import com.example.wealthverse.Service.CategoryService;
 import com.example.wealthverse.Service.JWTService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,11 +26,15 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final JWTService jwtService;
 
+    private final CategoryRegistry categoryRegistry;
+
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository, JWTService jwtService) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, UserRepository userRepository, JWTService jwtService,
+                               CategoryRegistry categoryRegistry) {
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.categoryRegistry = categoryRegistry;
     }
 
     @Override
@@ -48,6 +53,7 @@ public class CategoryServiceImpl implements CategoryService {
       }catch (Exception e){
           throw new IllegalStateException("Failed to save category", e);
       }
+      categoryRegistry.refreshUser(user.getId());
 
 
     }
@@ -55,10 +61,8 @@ public class CategoryServiceImpl implements CategoryService {
 
 @Override
     public BigDecimal calculateEmission(EmissionCalculationRequest request) {
-        Category category = categoryRepository.findByName(request.getCategoryName())
+        BigDecimal emissionFactor = categoryRegistry.findEmissionFactorByName(request.getCategoryName())
                 .orElseThrow(() -> new RuntimeException("Category not found with name: " + request.getCategoryName()));
-
-        BigDecimal emissionFactor = category.getEmissionFactor();
         BigDecimal amount = request.getAmountSpent();
 
 
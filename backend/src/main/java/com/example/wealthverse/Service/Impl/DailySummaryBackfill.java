@@ -0,0 +1,64 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Fills daily_category_summaries from the transactions table the first time the application starts
+ * with the new table, in a single INSERT ... SELECT. Runs before the web server accepts requests,
+ * so no live upsert can collide with the insert, slip past it, or make the table look filled.
+ * Ranges can be redone later through the summary rebuild.
+ *
+ * Completion is recorded in completed_migrations together with the rows, in one transaction.
+ * Rows already in the table are replaced, so a table that was partly filled by live writes before
+ * this ever ran is rebuilt in full once.
+ */
+@Component
+public class DailySummaryBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailySummaryBackfill.class);
+
+    private static final String MIGRATION_NAME = "daily-category-summaries";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private final SummarySchemaMigration schemaMigration;
+
+    public DailySummaryBackfill(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                MonthlyCategorySummaryWriter summaryWriter, SummarySchemaMigration schemaMigration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.summaryWriter = summaryWriter;
+        this.schemaMigration = schemaMigration;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer done = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM completed_migrations WHERE name = ?", Integer.class, MIGRATION_NAME);
+        if (done != null && done > 0) {
+            return;
+        }
+        // The daily unique key must exist before the upserts that follow
+        schemaMigration.migrate();
+
+        Integer written = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM daily_category_summaries");
+            int rows = summaryWriter.recomputeAllDays(TransactionType.DEBIT.ordinal());
+            jdbcTemplate.update("INSERT INTO completed_migrations (name, completed_at) VALUES (?, ?)",
+                    MIGRATION_NAME, Timestamp.valueOf(LocalDateTime.now()));
+            return rows;
+        });
+        logger.info("Backfilled {} daily summaries from transactions", written);
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.DTO.ImportJobResponse;
+import com.example.wealthverse.DTO.ImportRejectReport.RejectedRow;
+import com.example.wealthverse.DTO.ImportResult;
+import com.example.wealthverse.Enums.ImportJobStatus;
+import com.example.wealthverse.Exception.BadRequestException;
+import com.example.wealthverse.Exception.ResourceNotFoundException;
+import com.example.wealthverse.Exception.TooManyRequestsException;
+import com.example.wealthverse.Model.ImportJob;
+import com.example.wealthverse.Repository.ImportJobRepository;
+import com.example.wealthverse.Service.ImportJobService;
+import com.example.wealthverse.Service.JWTService;
+import com.example.wealthverse.Service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobServiceImpl.class);
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final TransactionService transactionService;
+    private final JWTService jwtService;
+    private final ImportScheduler importScheduler;
+
+    @Value("${wealthverse.import.work-dir:}")
+    private String workDir;
+
+    @Value("${wealthverse.import.reject-samples:20}")
+    private int rejectSamples;
+
+    @Value("${wealthverse.import.rejects-file.enabled:true}")
+    private boolean rejectsFileEnabled;
+
+    @Value("${wealthverse.import.rejects-file.max-rows:100000}")
+    private int rejectsFileMaxRows;
+
+    public ImportJobServiceImpl(
+            ImportJobRepository importJobRepository,
+            TransactionService transactionService,
+            JWTService jwtService,
+            ImportScheduler importScheduler) {
+        this.importJobRepository = importJobRepository;
+        this.transactionService = transactionService;
+        this.jwtService = jwtService;
+        this.importScheduler = importScheduler;
+    }
+
+    /**
+     * Copies the upload to the work directory, records a QUEUED job and hands it to the
+     * {@link ImportScheduler}. Returns immediately; progress is read back through {@link #getImportJob}.
+     *
+     * @throws TooManyRequestsException if the import queue is full; no job is kept in that case
+     */
+    @Override
+    public ImportJobResponse submitImport(MultipartFile csvFile, String authHeader) throws IOException {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new BadRequestException("Invalid authorization header");
+        }
+        Long userId = jwtService.getUserIdFromToken(authHeader);
+
+        // The multipart temp file is deleted once the request completes, so keep our own copy
+        Path storedFile = Files.createTempFile(workDirectory(), "import-", ".csv");
+        csvFile.transferTo(storedFile);
+
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setFileName(csvFile.getOriginalFilename());
+        job.setStoredFilePath(storedFile.toString());
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+
+        Long jobId = job.getId();
+        try {
+            importScheduler.submit(userId, () -> runJob(jobId));
+            logger.info("Queued import job {} for user ID: {}", jobId, userId);
+        } catch (TooManyRequestsException e) {
+            logger.warn("Rejecting import for user ID: {}: {}", userId, e.getMessage());
+            deleteQuietly(storedFile);
+            importJobRepository.delete(job);
+            throw e;
+        }
+
+        return ImportJobResponse.from(job);
+    }
+
+    @Override
+    public ImportJobResponse getImportJob(Long jobId, String authHeader) {
+        Long userId = jwtService.getUserIdFromToken(authHeader);
+        ImportJob job = importJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+        return ImportJobResponse.from(job);
+    }
+
+    /**
+     * CSV of every rejected row of a finished job (up to {@code rejects-file.max-rows}).
+     */
+    @Override
+    public Resource getRejectsFile(Long jobId, String authHeader) {
+        Long userId = jwtService.getUserIdFromToken(authHeader);
+        ImportJob job = importJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+
+        if (job.getRejectsFilePath() == null || !Files.exists(Path.of(job.getRejectsFilePath()))) {
+            throw new ResourceNotFoundException("Rejects file", "jobId", jobId);
+        }
+        return new FileSystemResource(job.getRejectsFilePath());
+    }
+
+    /**
+     * Jobs that were queued or running when the application stopped can never complete; mark them
+     * INTERRUPTED so clients polling them get a final state instead of a job that never moves.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        List<ImportJob> orphanedJobs = importJobRepository.findByStatusIn(
+                EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING));
+
+        for (ImportJob job : orphanedJobs) {
+            if (job.getStoredFilePath() != null) {
+                deleteQuietly(Path.of(job.getStoredFilePath()));
+                job.setStoredFilePath(null);
+            }
+            job.setStatus(ImportJobStatus.INTERRUPTED);
+            job.setErrorMessage("Import was interrupted by an application restart");
+            job.setFinishedAt(LocalDateTime.now());
+        }
+
+        if (!orphanedJobs.isEmpty()) {
+            importJobRepository.saveAll(orphanedJobs);
+            logger.warn("Marked {} unfinished import jobs as interrupted", orphanedJobs.size());
+        }
+    }
+
+    private void runJob(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ImportJobStatus.QUEUED) {
+            return;
+        }
+
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+
+        Path storedFile = Path.of(job.getStoredFilePath());
+        RejectsFileWriter rejectsFile = rejectsFileEnabled
+                ? new RejectsFileWriter(storedFile.resolveSibling("import-" + jobId + "-rejects.csv"), rejectsFileMaxRows)
+                : null;
+        ImportResult result = new ImportResult(rejectSamples, rejectsFile);
+
+        try (InputStream csvStream = Files.newInputStream(storedFile)) {
+            transactionService.importFromCsv(csvStream, job.getUserId(), result, progress -> {
+                copyCounts(job, progress);
+                importJobRepository.save(job);
+            });
+
+            closeRejectsFile(job, rejectsFile);
+            copyCounts(job, result);
+            finishWithCleanup(job, storedFile, ImportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            logger.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            closeRejectsFile(job, rejectsFile);
+            copyCounts(job, result);
+            finishWithCleanup(job, storedFile, ImportJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void closeRejectsFile(ImportJob job, RejectsFileWriter rejectsFile) {
+        if (rejectsFile != null && rejectsFile.close()) {
+            job.setRejectsFilePath(rejectsFile.getPath().toString());
+        }
+    }
+
+    private void finishWithCleanup(ImportJob job, Path storedFile, ImportJobStatus status, String errorMessage) {
+        deleteQuietly(storedFile);
+        job.setStoredFilePath(null);
+        finish(job, status, errorMessage);
+    }
+
+    private void finish(ImportJob job, ImportJobStatus status, String errorMessage) {
+        job.setStatus(status);
+        job.setErrorMessage(truncate(errorMessage));
+        job.setFinishedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    private void copyCounts(ImportJob job, ImportResult result) {
+        job.setRowsParsed(result.getRowsParsed());
+        job.setRowsInserted(result.getRowsInserted());
+        job.setRowsSkipped(result.getRowsSkipped());
+        job.setRowsFailed(result.getRowsFailed());
+        job.setRejectReport(result.getRejects().isEmpty() ? null : result.getRejects());
+    }
+
+    private Path workDirectory() throws IOException {
+        Path directory = (workDir == null || workDir.isBlank())
+                ? Path.of(System.getProperty("java.io.tmpdir"), "wealthverse-imports")
+                : Path.of(workDir);
+        return Files.createDirectories(directory);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Appends rejected rows to a CSV file, which is only created once the first row is rejected.
+     * Rows beyond {@code maxRows} are counted in the report but not written; a write error stops
+     * the file instead of failing the import.
+     */
+    private static final class RejectsFileWriter implements Consumer<RejectedRow> {
+
+        private final Path path;
+        private final int maxRows;
+        private BufferedWriter writer;
+        private int rowsWritten;
+        private boolean broken;
+
+        private RejectsFileWriter(Path path, int maxRows) {
+            this.path = path;
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public void accept(RejectedRow row) {
+            if (broken || rowsWritten >= maxRows) {
+                return;
+            }
+            try {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                    writer.write("row,column,reason,detail");
+                    writer.newLine();
+                }
+                writer.write(row.getRow() + "," + csvValue(row.getColumn()) + "," + row.getReason() + "," + csvValue(row.getDetail()));
+                writer.newLine();
+                rowsWritten++;
+            } catch (IOException e) {
+                logger.warn("Could not write rejects file {}: {}", path, e.getMessage());
+                broken = true;
+            }
+        }
+
+        /**
+         * Returns whether a complete file was written.
+         */
+        private boolean close() {
+            if (writer == null) {
+                return false;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Could not close rejects file {}: {}", path, e.getMessage());
+                broken = true;
+            }
+            if (broken) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Nothing left to do; the path is not recorded on the job
+                }
+                return false;
+            }
+            return true;
+        }
+
+        private Path getPath() {
+            return path;
+        }
+
+        private static String csvValue(String value) {
+            if (value == null) {
+                return "";
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when queued imports run. Every user has a FIFO queue and at most one running import, so
+ * imports of the same user never race on the same summary rows and run in submission order. Users
+ * with work waiting take turns: after one of a user's imports finishes the user goes to the back
+ * of the line, so a user with many uploads cannot hold all {@code workers} threads.
+ *
+ * Submissions beyond {@code queue-capacity} waiting imports in total, or {@code max-queued-per-user}
+ * for one user, are rejected with {@link TooManyRequestsException}. Queue depth, running imports and
+ * the time spent waiting are published as {@code wealthverse.import.*} metrics.
+ */
+@Component
+public class ImportScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportScheduler.class);
+
+    private final TaskExecutor importExecutor;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxQueuedPerUser;
+    private final Timer waitTimer;
+
+    // All state below is guarded by this
+    private final Map<Long, ArrayDeque<QueuedImport>> queues = new HashMap<>();
+    private final ArrayDeque<Long> readyUsers = new ArrayDeque<>();
+    private final Set<Long> runningUsers = new HashSet<>();
+    private int queued;
+
+    public ImportScheduler(
+            @Qualifier("importExecutor") TaskExecutor importExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${wealthverse.import.workers:2}") int workers,
+            @Value("${wealthverse.import.queue-capacity:50}") int queueCapacity,
+            @Value("${wealthverse.import.max-queued-per-user:5}") int maxQueuedPerUser) {
+        this.importExecutor = importExecutor;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+
+        Gauge.builder("wealthverse.import.queue.depth", this, ImportScheduler::getQueuedCount)
+                .description("Imports waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("wealthverse.import.running", this, ImportScheduler::getRunningCount)
+                .description("Imports currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("wealthverse.import.queue.wait")
+                .description("Time imports spent queued before they started")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code task} behind the user's earlier imports.
+     *
+     * @throws TooManyRequestsException if the global or the user's queue is full
+     */
+    public synchronized void submit(Long userId, Runnable task) {
+        if (queued >= queueCapacity) {
+            throw new TooManyRequestsException("Import queue is full, please try again later");
+        }
+        ArrayDeque<QueuedImport> userQueue = queues.computeIfAbsent(userId, id -> new ArrayDeque<>());
+        if (userQueue.size() >= maxQueuedPerUser) {
+            throw new TooManyRequestsException("You already have " + userQueue.size()
+                    + " imports waiting, please wait for them to finish");
+        }
+
+        userQueue.add(new QueuedImport(task, System.nanoTime()));
+        queued++;
+        if (userQueue.size() == 1 && !runningUsers.contains(userId)) {
+            readyUsers.add(userId);
+        }
+        dispatch();
+    }
+
+    public synchronized int getQueuedCount() {
+        return queued;
+    }
+
+    public synchronized int getRunningCount() {
+        return runningUsers.size();
+    }
+
+    private void dispatch() {
+        while (runningUsers.size() < workers && !readyUsers.isEmpty()) {
+            Long userId = readyUsers.poll();
+            ArrayDeque<QueuedImport> userQueue = queues.get(userId);
+            QueuedImport next = userQueue.poll();
+            queued--;
+            runningUsers.add(userId);
+
+            try {
+                importExecutor.execute(() -> run(userId, next.task()));
+            } catch (TaskRejectedException e) {
+                // Only happens while shutting down. Put the import back where it was, so the counters
+                // stay right and it runs with the next dispatch if the executor takes work again;
+                // otherwise it is marked interrupted on the next start like any other QUEUED job
+                logger.warn("Import executor rejected an import for user ID: {}", userId);
+                runningUsers.remove(userId);
+                userQueue.addFirst(next);
+                queued++;
+                readyUsers.addFirst(userId);
+                return;
+            }
+            waitTimer.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void run(Long userId, Runnable task) {
+        try {
+            task.run();
+        } finally {
+            finished(userId);
+        }
+    }
+
+    private synchronized void finished(Long userId) {
+        runningUsers.remove(userId);
+        ArrayDeque<QueuedImport> userQueue = queues.get(userId);
+        if (userQueue == null || userQueue.isEmpty()) {
+            queues.remove(userId);
+        } else {
+            readyUsers.add(userId);
+        }
+        dispatch();
+    }
+
+    private record QueuedImport(Runnable task, long enqueuedAt) {
+    }
+}
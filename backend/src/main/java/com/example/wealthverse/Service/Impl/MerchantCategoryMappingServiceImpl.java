@@ -6,6 +6,7 @@ import com.example.wealthverse.Model.User;
 import com.example.wealthverse.Repository.CategoryRepository;
 import com.example.wealthverse.Repository.MerchantCategoryMappingRepository;
 import com.example.wealthverse.Repository.UserRepository;
+import com.example.wealthverse.Service.CategoryRegistry;
 import com.example.wealthverse.Service.MerchantCategoryMappingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,11 +22,15 @@ public class MerchantCategoryMappingServiceImpl implements MerchantCategoryMappi
 
     private  final CategoryRepository categoryRepository;
 
+    private final CategoryRegistry categoryRegistry;
+
     @Autowired
-    public MerchantCategoryMappingServiceImpl(MerchantCategoryMappingRepository mappingRepository, UserRepository userRepository, CategoryRepository categoryRepository) {
+    public MerchantCategoryMappingServiceImpl(MerchantCategoryMappingRepository mappingRepository, UserRepository userRepository, CategoryRepository categoryRepository,
+                                              CategoryRegistry categoryRegistry) {
         this.mappingRepository = mappingRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
     }
 
     @Override
@@ -38,7 +43,7 @@ public class MerchantCategoryMappingServiceImpl implements MerchantCategoryMappi
 
         mapping.setUser(user); // null if global
 
-        Category category = categoryRepository.findByName(categoryName.toUpperCase())
+        Category category = categoryRegistry.findByName(categoryName, userId)
                 .orElseThrow(() -> new IllegalStateException("Category not found with Name: " + categoryName));
 
         mapping.setCategory(category);
@@ -1,17 +1,33 @@
 package com.example.wealthverse.Service.Impl;
 
 import com.example.wealthverse.DTO.CategorySummaryResponse;
+import com.example.wealthverse.DTO.CategoryTotal;
+import com.example.wealthverse.DTO.DailySeriesResponse;
+import com.example.wealthverse.DTO.DailySummaryKey;
+import com.example.wealthverse.DTO.DailyTotal;
+import com.example.wealthverse.DTO.DayCategoryTotals;
 import com.example.wealthverse.DTO.MonthlySummaryResponse;
 import com.example.wealthverse.DTO.MultiMonthSummaryResponse;
+import com.example.wealthverse.DTO.RangeSummaryResponse;
+import com.example.wealthverse.DTO.SummaryDelta;
+import com.example.wealthverse.DTO.SummaryKey;
 import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Exception.BadRequestException;
 import com.example.wealthverse.Model.MonthlyCategorySummary;
 import com.example.wealthverse.Model.Transaction;
+import com.example.wealthverse.Repository.DailyCategorySummaryRepository;
 import com.example.wealthverse.Repository.MonthlyCategorySummaryRepository;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
 import com.example.wealthverse.Repository.TransactionRepository;
+import com.example.wealthverse.Repository.YearlyCategorySummaryRepository;
+import com.example.wealthverse.Service.CategoryRegistry;
 import com.example.wealthverse.Service.MonthlyCategorySummaryService;
+import com.example.wealthverse.Service.SummaryReportCache;
+import com.example.wealthverse.Service.SummaryWriteBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,8 +36,10 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,68 +52,170 @@ public class MonthlyCategorySummaryServiceImpl implements MonthlyCategorySummary
     private static final int BATCH_SIZE = 500;
 
     private final MonthlyCategorySummaryRepository summaryRepository;
+    private final YearlyCategorySummaryRepository yearlySummaryRepository;
+    private final DailyCategorySummaryRepository dailySummaryRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private final SummaryReportCache reportCache;
+    private final SummaryWriteBuffer writeBuffer;
+    private final CategoryRegistry categoryRegistry;
+
+    @Value("${wealthverse.reports.daily.max-days:366}")
+    private int maxDailySeriesDays;
 
 
     @Autowired
     public MonthlyCategorySummaryServiceImpl(
             MonthlyCategorySummaryRepository summaryRepository,
-            TransactionRepository transactionRepository) {
+            YearlyCategorySummaryRepository yearlySummaryRepository,
+            DailyCategorySummaryRepository dailySummaryRepository,
+            TransactionRepository transactionRepository,
+            MonthlyCategorySummaryWriter summaryWriter,
+            SummaryReportCache reportCache,
+            SummaryWriteBuffer writeBuffer,
+            CategoryRegistry categoryRegistry) {
         this.summaryRepository = summaryRepository;
+        this.yearlySummaryRepository = yearlySummaryRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
         this.transactionRepository = transactionRepository;
+        this.summaryWriter = summaryWriter;
+        this.reportCache = reportCache;
+        this.writeBuffer = writeBuffer;
+        this.categoryRegistry = categoryRegistry;
     }
 
     @Override
     @Transactional
     public void resetMonthSummaries(Long userId, YearMonth yearMonth) {
         logger.info("Resetting monthly summaries for user {} for {}", userId, yearMonth);
-        summaryRepository.deleteByUserIdAndYearMonth(userId, yearMonth);
+        summaryRepository.deleteByUserIdAndMonthKey(userId, SummaryKey.monthKey(yearMonth));
+        summaryWriter.deleteDays(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        summaryWriter.recomputeYears(userId, yearMonth.getYear(), yearMonth.getYear());
+        reportCache.invalidate(userId, yearMonth);
     }
 
 
+    /**
+     * Reduces the transactions to one delta per (user, day, category) and adds the deltas to the
+     * summary tables in batched upserts, so the number of statements depends on the number of
+     * distinct keys, not on the number of transactions.
+     */
     @Override
     @Transactional
     public void updateMonthlySummaries(List<Transaction> transactions) {
-        Map<String, MonthlyCategorySummary> summaryMap = new HashMap<>();
+        Map<DailySummaryKey, SummaryDelta> deltas = toDeltas(transactions);
+        summaryWriter.addDeltas(deltas);
+        invalidateReports(deltas.keySet());
+    }
+
+    /**
+     * Summary update for a single added transaction; goes through the {@link SummaryWriteBuffer}
+     * when write-behind is enabled and the user's summaries are not being rebuilt, otherwise the
+     * same as {@link #updateMonthlySummaries}.
+     */
+    @Override
+    @Transactional
+    public void updateSummariesForTransaction(Transaction transaction) {
+        if (writeBuffer.isEnabled() && writeBuffer.add(transaction.getUser().getId(), toDeltas(List.of(transaction)))) {
+            return;
+        }
+        updateMonthlySummaries(List.of(transaction));
+    }
+
+    private Map<DailySummaryKey, SummaryDelta> toDeltas(List<Transaction> transactions) {
+        Map<DailySummaryKey, SummaryDelta> deltas = new HashMap<>();
 
         for (Transaction tx : transactions) {
             if (tx.getTransactionType() != TransactionType.DEBIT || tx.getAmount() == null) {
                 continue;
             }
-
-            YearMonth yearMonth = YearMonth.from(tx.getCreatedAt());
-            Long userId = tx.getUser().getId();
             Long categoryId = tx.getCategory() != null ? tx.getCategory().getId() : null;
             if (categoryId == null) continue;
 
-            String key = userId + "_" + yearMonth + "_" + categoryId;
-
-            summaryMap.computeIfAbsent(key, k -> {
-                return summaryRepository
-                        .findByUserIdAndYearMonthAndCategoryId(userId, yearMonth, categoryId)
-                        .orElse(new MonthlyCategorySummary(
-                                userId, yearMonth, categoryId,
-                                BigDecimal.ZERO, BigDecimal.ZERO,
-                                LocalDateTime.now()
-                        ));
-            });
+            DailySummaryKey key = new DailySummaryKey(tx.getUser().getId(), tx.getCreatedAt().toLocalDate(), categoryId);
+            BigDecimal emission = Boolean.TRUE.equals(tx.getIsGloballyMapped()) ? tx.getCarbonEmission() : null;
+            deltas.computeIfAbsent(key, k -> new SummaryDelta()).add(tx.getAmount(), emission);
+        }
+        return deltas;
+    }
 
-            MonthlyCategorySummary summary = summaryMap.get(key);
-            summary.addToTotalAmount(tx.getAmount());
 
-            if (Boolean.TRUE.equals(tx.getIsGloballyMapped()) && tx.getCarbonEmission() != null) {
-                summary.addToTotalEmission(tx.getCarbonEmission());
-            }
-
-            summary.setLastAggregatedAt(LocalDateTime.now());
+    /**
+     * Moves totals that were counted under their current categories to {@code newCategoryId}. The
+     * amounts move as they are, the emission is dropped, exactly like recategorization does to the
+     * transactions themselves. Rows left at zero are removed.
+     */
+    @Override
+    @Transactional
+    public void moveToCategory(Long userId, List<DayCategoryTotals> moved, Long newCategoryId) {
+        Map<DailySummaryKey, SummaryDelta> deltas = new HashMap<>();
+
+        for (DayCategoryTotals totals : moved) {
+            LocalDate day = LocalDate.parse(totals.getDay());
+            deltas.computeIfAbsent(new DailySummaryKey(userId, day, totals.getCategoryId()), k -> new SummaryDelta())
+                    .add(totals.getAmount().negate(), totals.getEmission().negate());
+            deltas.computeIfAbsent(new DailySummaryKey(userId, day, newCategoryId), k -> new SummaryDelta())
+                    .add(totals.getAmount(), null);
         }
 
-        summaryRepository.saveAll(summaryMap.values());
+        if (!deltas.isEmpty()) {
+            summaryWriter.addDeltas(deltas);
+            summaryWriter.deleteEmpty(deltas.keySet());
+            invalidateReports(deltas.keySet());
+        }
     }
 
+    private void invalidateReports(Collection<DailySummaryKey> changed) {
+        Set<SummaryReportCache.MonthEntry> entries = new HashSet<>();
+        for (DailySummaryKey key : changed) {
+            entries.add(new SummaryReportCache.MonthEntry(key.userId(), YearMonth.from(key.date())));
+        }
+        reportCache.invalidate(entries);
+    }
 
     @Override
     public MonthlySummaryResponse getMonthlySummaryForUser(Long userId, YearMonth yearMonth) {
+        return writeBuffer.read(() -> monthlySummaryWithPending(userId, yearMonth));
+    }
+
+    private MonthlySummaryResponse monthlySummaryWithPending(Long userId, YearMonth yearMonth) {
+        MonthlySummaryResponse stored = reportCache.getMonthly(userId, yearMonth, () -> loadMonthlySummary(userId, yearMonth));
+
+        Map<DailySummaryKey, SummaryDelta> pending = writeBuffer.pendingFor(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return pending.isEmpty() ? stored : withPending(stored, pending);
+    }
+
+    /**
+     * Copy of a (possibly cached) monthly response with buffered deltas added, so users see their
+     * own writes before the write-behind flush. The cached response itself is never changed.
+     */
+    private MonthlySummaryResponse withPending(MonthlySummaryResponse stored, Map<DailySummaryKey, SummaryDelta> pending) {
+        MonthlySummaryResponse response = new MonthlySummaryResponse();
+        response.setYearMonth(stored.getYearMonth());
+        response.setCategorySummaries(withPending(stored.getCategorySummaries(), pending.entrySet()));
+        response.calculateTotals();
+        return response;
+    }
+
+    private List<CategorySummaryResponse> withPending(List<CategorySummaryResponse> stored,
+                                                      Collection<Map.Entry<DailySummaryKey, SummaryDelta>> pending) {
+        Map<Long, CategorySummaryResponse> byCategory = new LinkedHashMap<>();
+        for (CategorySummaryResponse summary : stored) {
+            byCategory.put(summary.getCategoryId(), new CategorySummaryResponse(summary.getCategoryId(),
+                    summary.getCategoryName(), summary.getTotalAmount(), summary.getTotalEmission(), null));
+        }
+        for (Map.Entry<DailySummaryKey, SummaryDelta> entry : pending) {
+            Long categoryId = entry.getKey().categoryId();
+            CategorySummaryResponse summary = byCategory.computeIfAbsent(categoryId, id -> new CategorySummaryResponse(id,
+                    categoryRegistry.findNameById(id).orElse("Unknown Category"),
+                    BigDecimal.ZERO, BigDecimal.ZERO, null));
+            summary.setTotalAmount(summary.getTotalAmount().add(entry.getValue().getAmount()));
+            summary.setTotalEmission(summary.getTotalEmission().add(entry.getValue().getEmission()));
+        }
+        return new ArrayList<>(byCategory.values());
+    }
+
+    private MonthlySummaryResponse loadMonthlySummary(Long userId, YearMonth yearMonth) {
         // Fetch data from repository
         List<MonthlyCategorySummary> monthlySummaries =
                 summaryRepository.findByUserIdAndYearMonthWithCategory(userId, yearMonth);
@@ -137,6 +257,39 @@ public class MonthlyCategorySummaryServiceImpl implements MonthlyCategorySummary
 
     @Override
     public MultiMonthSummaryResponse getMultiMonthSummaryForUser(Long userId, YearMonth currentYearMonth, int numberOfMonths) {
+        return writeBuffer.read(() -> multiMonthSummaryWithPending(userId, currentYearMonth, numberOfMonths));
+    }
+
+    private MultiMonthSummaryResponse multiMonthSummaryWithPending(Long userId, YearMonth currentYearMonth, int numberOfMonths) {
+        MultiMonthSummaryResponse stored = reportCache.getMultiMonth(userId, currentYearMonth, numberOfMonths,
+                () -> loadMultiMonthSummary(userId, currentYearMonth, numberOfMonths));
+
+        YearMonth startYearMonth = currentYearMonth.minusMonths(numberOfMonths - 1);
+        Map<DailySummaryKey, SummaryDelta> pending =
+                writeBuffer.pendingFor(userId, startYearMonth.atDay(1), currentYearMonth.atEndOfMonth());
+        if (pending.isEmpty()) {
+            return stored;
+        }
+
+        Map<String, Map<DailySummaryKey, SummaryDelta>> pendingByMonth = new HashMap<>();
+        pending.forEach((key, delta) -> pendingByMonth
+                .computeIfAbsent(YearMonth.from(key.date()).toString(), month -> new HashMap<>())
+                .put(key, delta));
+
+        MultiMonthSummaryResponse response = new MultiMonthSummaryResponse();
+        response.setStartYearMonth(startYearMonth);
+        response.setEndYearMonth(currentYearMonth);
+        List<MonthlySummaryResponse> monthlySummaries = new ArrayList<>();
+        for (MonthlySummaryResponse month : stored.getMonthlySummaries()) {
+            Map<DailySummaryKey, SummaryDelta> monthPending = pendingByMonth.get(month.getYearMonth());
+            monthlySummaries.add(monthPending == null ? month : withPending(month, monthPending));
+        }
+        response.setMonthlySummaries(monthlySummaries);
+        response.calculateTotals();
+        return response;
+    }
+
+    private MultiMonthSummaryResponse loadMultiMonthSummary(Long userId, YearMonth currentYearMonth, int numberOfMonths) {
         // Create the response object
         MultiMonthSummaryResponse response = new MultiMonthSummaryResponse();
 
@@ -188,7 +341,116 @@ public class MonthlyCategorySummaryServiceImpl implements MonthlyCategorySummary
 
         return response;
     }
-}
 
+    /**
+     * Category totals for {@code from..to}. Whole calendar years inside the range are read from the
+     * yearly rollup and only the partial years at either end from the monthly rows, so a request
+     * reads at most 22 monthly rows per category however long the range is.
+     */
+    @Override
+    public RangeSummaryResponse getRangeSummaryForUser(Long userId, YearMonth from, YearMonth to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Invalid month range: " + from + " to " + to);
+        }
 
+        List<CategoryTotal> totals = writeBuffer.read(() -> rangeTotals(userId, from, to));
+
+        // The same category can come back from several queries
+        Map<Long, CategorySummaryResponse> byCategory = new TreeMap<>();
+        for (CategoryTotal total : totals) {
+            CategorySummaryResponse summary = byCategory.computeIfAbsent(total.categoryId(), id -> {
+                CategorySummaryResponse dto = new CategorySummaryResponse();
+                dto.setCategoryId(id);
+                dto.setCategoryName(total.categoryName());
+                dto.setTotalAmount(BigDecimal.ZERO);
+                dto.setTotalEmission(BigDecimal.ZERO);
+                return dto;
+            });
+            summary.setTotalAmount(summary.getTotalAmount().add(total.totalAmount()));
+            summary.setTotalEmission(summary.getTotalEmission().add(total.totalEmission()));
+        }
+
+        RangeSummaryResponse response = new RangeSummaryResponse();
+        response.setFrom(from.toString());
+        response.setTo(to.toString());
+        response.setCategorySummaries(new ArrayList<>(byCategory.values()));
+        response.calculateTotals();
+        return response;
+    }
+
+    private List<CategoryTotal> rangeTotals(Long userId, YearMonth from, YearMonth to) {
+        int firstFullYear = from.getMonthValue() == 1 ? from.getYear() : from.getYear() + 1;
+        int lastFullYear = to.getMonthValue() == 12 ? to.getYear() : to.getYear() - 1;
+
+        List<CategoryTotal> totals = new ArrayList<>();
+        if (firstFullYear <= lastFullYear) {
+            totals.addAll(yearlySummaryRepository.sumByCategory(userId, firstFullYear, lastFullYear));
 
+            YearMonth leadingEnd = YearMonth.of(firstFullYear, 1).minusMonths(1);
+            if (!from.isAfter(leadingEnd)) {
+                totals.addAll(summaryRepository.sumByCategory(userId, SummaryKey.monthKey(from), SummaryKey.monthKey(leadingEnd)));
+            }
+            YearMonth trailingStart = YearMonth.of(lastFullYear, 12).plusMonths(1);
+            if (!trailingStart.isAfter(to)) {
+                totals.addAll(summaryRepository.sumByCategory(userId, SummaryKey.monthKey(trailingStart), SummaryKey.monthKey(to)));
+            }
+        } else {
+            totals.addAll(summaryRepository.sumByCategory(userId, SummaryKey.monthKey(from), SummaryKey.monthKey(to)));
+        }
+
+        // Not flushed yet: same shape as one more query result
+        writeBuffer.pendingFor(userId, from.atDay(1), to.atEndOfMonth()).forEach((key, delta) -> totals.add(new CategoryTotal(
+                key.categoryId(),
+                categoryRegistry.findNameById(key.categoryId()).orElse("Unknown Category"),
+                delta.getAmount(), delta.getEmission())));
+        return totals;
+    }
+
+    /**
+     * One point per day of {@code from..to}, for all categories or just {@code categoryId}. Days
+     * without summary rows are filled with zeros here, so the series is always dense.
+     */
+    @Override
+    public DailySeriesResponse getDailySeriesForUser(Long userId, LocalDate from, LocalDate to, Long categoryId) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Invalid date range: " + from + " to " + to);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDailySeriesDays) {
+            throw new BadRequestException("Date range must not exceed " + maxDailySeriesDays + " days");
+        }
+
+        Map<LocalDate, DailyTotal> byDate = writeBuffer.read(() -> dailyTotals(userId, from, to, categoryId));
+
+        List<DailyTotal> series = new ArrayList<>((int) days);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DailyTotal total = byDate.get(day);
+            series.add(total != null ? total : new DailyTotal(day, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+
+        DailySeriesResponse response = new DailySeriesResponse();
+        response.setFrom(from.toString());
+        response.setTo(to.toString());
+        response.setCategoryId(categoryId);
+        response.setDays(series);
+        response.calculateTotals();
+        return response;
+    }
+
+    private Map<LocalDate, DailyTotal> dailyTotals(Long userId, LocalDate from, LocalDate to, Long categoryId) {
+        List<DailyTotal> stored = categoryId == null
+                ? dailySummaryRepository.sumByDate(userId, from, to)
+                : dailySummaryRepository.findByCategory(userId, categoryId, from, to);
+        Map<LocalDate, DailyTotal> byDate = new HashMap<>();
+        for (DailyTotal total : stored) {
+            byDate.put(total.date(), total);
+        }
+        writeBuffer.pendingFor(userId, from, to).forEach((key, delta) -> {
+            if (categoryId == null || categoryId.equals(key.categoryId())) {
+                byDate.merge(key.date(), new DailyTotal(key.date(), delta.getAmount(), delta.getEmission()),
+                        (a, b) -> new DailyTotal(a.date(), a.totalAmount().add(b.totalAmount()), a.totalEmission().add(b.totalEmission())));
+            }
+        });
+        return byDate;
+    }
+}
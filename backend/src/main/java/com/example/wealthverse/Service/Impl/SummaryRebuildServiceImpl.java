@@ -0,0 +1,250 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.DTO.DailySummaryKey;
+import com.example.wealthverse.DTO.SummaryDelta;
+import com.example.wealthverse.DTO.SummaryKey;
+import com.example.wealthverse.DTO.SummaryRebuildJob;
+import com.example.wealthverse.DTO.SummaryRebuildResult;
+import com.example.wealthverse.Enums.RebuildJobStatus;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Exception.BadRequestException;
+import com.example.wealthverse.Exception.TooManyRequestsException;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import com.example.wealthverse.Service.SummaryRebuildService;
+import com.example.wealthverse.Service.SummaryReportCache;
+import com.example.wealthverse.Service.SummaryWriteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Recomputes daily_category_summaries and monthly_category_summaries from the transactions table.
+ *
+ * Per user, everything happens in one database transaction: the summary rows of the range are
+ * deleted first, which takes the row and gap locks that concurrent imports need for their own
+ * upserts, then the user's debits in the range are streamed in created_at order over a forward-only
+ * MySQL cursor and reduced to one delta per (day, category), and finally the deltas are written
+ * back and the yearly rollup of the touched years is recomputed from them. Readers see either the
+ * old or the new totals, and imports that commit meanwhile are neither lost nor counted twice.
+ * Memory is bounded by days x categories, not by the number of rows.
+ *
+ * With summary write-behind enabled the user's buffered deltas are flushed first and the user's
+ * adds bypass the buffer until the rebuild has committed, so deltas of transactions the rebuild
+ * already counts are not added on top afterwards.
+ */
+@Service
+public class SummaryRebuildServiceImpl implements SummaryRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryRebuildServiceImpl.class);
+
+    private static final String DELETE_SQL =
+            "DELETE FROM monthly_category_summaries WHERE user_id = ? AND month_key BETWEEN ? AND ?";
+    private static final String STREAM_SQL =
+            "SELECT category_id, amount, carbon_emission, is_globally_mapped, created_at FROM transactions " +
+                    "WHERE user_id = ? AND transaction_type = ? AND created_at >= ? AND created_at < ? " +
+                    "ORDER BY created_at";
+    private static final String USER_PAGE_SQL = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    private static final int USER_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final SummaryReportCache reportCache;
+    private final SummaryWriteBuffer writeBuffer;
+    private final TaskExecutor rebuildExecutor;
+    private final AtomicReference<SummaryRebuildJob> allUsersRebuild = new AtomicReference<>();
+
+    @Value("${wealthverse.summaries.rebuild-parallelism:4}")
+    private int rebuildParallelism;
+
+    public SummaryRebuildServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            MonthlyCategorySummaryWriter summaryWriter,
+            TransactionTemplate transactionTemplate,
+            SummaryReportCache reportCache,
+            SummaryWriteBuffer writeBuffer,
+            @Qualifier("summaryRebuildExecutor") TaskExecutor rebuildExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.summaryWriter = summaryWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.reportCache = reportCache;
+        this.writeBuffer = writeBuffer;
+        this.rebuildExecutor = rebuildExecutor;
+
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one instead of buffering the result
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public SummaryRebuildResult rebuildForUser(Long userId, YearMonth from, YearMonth to) {
+        validateRange(from, to);
+
+        SummaryRebuildResult result = rebuildWithBufferHeld(userId, from, to);
+        logger.info("Rebuilt summaries {}..{} for user ID: {} from {} transactions ({} rows)",
+                from, to, userId, result.getTransactionsScanned(), result.getSummaryRowsWritten());
+        return result;
+    }
+
+    /**
+     * Starts rebuilding every user and returns at once. A coordinator on the
+     * {@code summaryRebuildExecutor} pages through the user ids and hands each user to a worker
+     * on the same pool, one transaction per user, with at most {@code rebuild-parallelism} workers
+     * at a time; memory does not grow with the number of users. Only one all-users rebuild runs at
+     * a time; after the first user fails the users not yet started are skipped and the job is
+     * marked failed.
+     */
+    @Override
+    public SummaryRebuildJob startRebuildForAllUsers(YearMonth from, YearMonth to) {
+        validateRange(from, to);
+        SummaryRebuildJob job = new SummaryRebuildJob(new SummaryRebuildResult(from, to));
+        SummaryRebuildJob previous = allUsersRebuild.get();
+        if ((previous != null && previous.isRunning()) || !allUsersRebuild.compareAndSet(previous, job)) {
+            throw new TooManyRequestsException("A summary rebuild is already running");
+        }
+
+        try {
+            Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            job.setUsersTotal(users != null ? users : 0);
+            rebuildExecutor.execute(() -> rebuildAllUsers(job, from, to));
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+        return job;
+    }
+
+    @Override
+    public SummaryRebuildJob getAllUsersRebuild() {
+        return allUsersRebuild.get();
+    }
+
+    private void rebuildAllUsers(SummaryRebuildJob job, YearMonth from, YearMonth to) {
+        int parallelism = Math.max(1, rebuildParallelism);
+        Semaphore workers = new Semaphore(parallelism);
+        long lastId = 0;
+        try {
+            while (job.isRunning()) {
+                List<Long> userIds = jdbcTemplate.queryForList(USER_PAGE_SQL, Long.class, lastId, USER_PAGE_SIZE);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                for (Long userId : userIds) {
+                    workers.acquire();
+                    try {
+                        rebuildExecutor.execute(() -> {
+                            try {
+                                rebuildForJob(job, userId, from, to);
+                            } finally {
+                                workers.release();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        workers.release();
+                        throw e;
+                    }
+                }
+                lastId = userIds.get(userIds.size() - 1);
+            }
+            // Wait for the last workers
+            workers.acquire(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Summary rebuild was interrupted");
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+
+        SummaryRebuildResult total = job.getResult();
+        job.complete();
+        if (job.getStatus() == RebuildJobStatus.COMPLETED) {
+            logger.info("Rebuilt summaries {}..{} for {} users from {} transactions ({} rows)",
+                    total.getFrom(), total.getTo(), total.getUsersRebuilt(),
+                    total.getTransactionsScanned(), total.getSummaryRowsWritten());
+        } else {
+            logger.error("Summary rebuild {}..{} failed after {} of {} users: {}",
+                    total.getFrom(), total.getTo(), total.getUsersRebuilt(), job.getUsersTotal(), job.getErrorMessage());
+        }
+    }
+
+    private void rebuildForJob(SummaryRebuildJob job, Long userId, YearMonth from, YearMonth to) {
+        if (!job.isRunning()) {
+            return;
+        }
+        try {
+            job.getResult().add(rebuildWithBufferHeld(userId, from, to));
+        } catch (RuntimeException e) {
+            logger.error("Summary rebuild of user ID: {} failed", userId, e);
+            job.fail("Rebuild of user " + userId + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The user's adds bypass the write buffer until the rebuild has committed, and those buffered
+     * before are flushed first, so none is counted by the rebuild and flushed on top of it.
+     */
+    private SummaryRebuildResult rebuildWithBufferHeld(Long userId, YearMonth from, YearMonth to) {
+        writeBuffer.beginRebuild(userId);
+        try {
+            return transactionTemplate.execute(status -> rebuild(userId, from, to));
+        } finally {
+            writeBuffer.endRebuild(userId);
+        }
+    }
+
+    // Must run inside a transaction
+    private SummaryRebuildResult rebuild(Long userId, YearMonth from, YearMonth to) {
+        jdbcTemplate.update(DELETE_SQL, userId, SummaryKey.monthKey(from), SummaryKey.monthKey(to));
+        summaryWriter.deleteDays(userId, from.atDay(1), to.atEndOfMonth());
+
+        Map<DailySummaryKey, SummaryDelta> deltas = new HashMap<>();
+        long[] scanned = {0};
+        streamingJdbcTemplate.query(STREAM_SQL, rs -> {
+            scanned[0]++;
+            long categoryId = rs.getLong("category_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            BigDecimal amount = rs.getBigDecimal("amount");
+            if (amount == null) {
+                return;
+            }
+            BigDecimal emission = rs.getBoolean("is_globally_mapped") ? rs.getBigDecimal("carbon_emission") : null;
+            LocalDate day = rs.getTimestamp("created_at").toLocalDateTime().toLocalDate();
+
+            deltas.computeIfAbsent(new DailySummaryKey(userId, day, categoryId), k -> new SummaryDelta())
+                    .add(amount, emission);
+        }, userId, TransactionType.DEBIT.ordinal(),
+                Timestamp.valueOf(from.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(to.plusMonths(1).atDay(1).atStartOfDay()));
+
+        summaryWriter.addDeltas(deltas);
+        summaryWriter.recomputeYears(userId, from.getYear(), to.getYear());
+        reportCache.invalidateUser(userId);
+        return new SummaryRebuildResult(from, to, scanned[0], deltas.size());
+    }
+
+    private void validateRange(YearMonth from, YearMonth to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Invalid month range: " + from + " to " + to);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Model.Transaction;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Makes sure the unique keys the summary upserts rely on exist. {@code ON DUPLICATE KEY UPDATE}
+ * only adds to an existing row when the key is there; without it every upsert inserts another row
+ * and totals silently double. ddl-auto cannot be trusted with this: rows duplicated by the old
+ * read-modify-write updates make it fail to create the key, and it only logs that.
+ *
+ * Runs once all singletons exist, before the web server accepts requests: duplicate rows of a
+ * missing key are merged into one (totals summed), the key is created, and startup fails if it is
+ * still missing afterwards. Once the keys exist this is three metadata lookups.
+ *
+ * Before that, monthly rows written before month_key existed get their key. A legacy row whose
+ * key is already taken (a duplicate from before the unique keys) is folded into the keyed row
+ * rather than left behind with a NULL key, where month_key queries would never see it. The old
+ * (user_id, month_year, category_id) key is dropped once every row has a month_key.
+ *
+ * total_emission columns created at scale 2 are widened to the scale of transaction emissions
+ * ({@link Transaction#CARBON_EMISSION_SCALE}); ddl-auto never changes an existing column, and at
+ * scale 2 MySQL would round every incremental upsert, drifting from what a rebuild computes.
+ *
+ * The summary backfills call {@link #migrate()} before they start, since the order in which
+ * SmartInitializingSingletons run is not defined; the migration itself runs only once.
+ */
+@Component
+public class SummarySchemaMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummarySchemaMigration.class);
+
+    private static final String LEGACY_UNIQUE_KEY = "uk_mcs_user_month_category";
+    private static final String MONTH_KEY_OF_MONTH_YEAR =
+            "CAST(SUBSTRING(month_year, 1, 4) AS UNSIGNED) * 12 + CAST(SUBSTRING(month_year, 6, 2) AS UNSIGNED) - 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private boolean migrated;
+
+    public SummarySchemaMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  MonthlyCategorySummaryWriter summaryWriter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.summaryWriter = summaryWriter;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public synchronized void migrate() {
+        if (migrated) {
+            return;
+        }
+        widenEmissionColumn("daily_category_summaries", 15);
+        widenEmissionColumn("monthly_category_summaries", 15);
+        widenEmissionColumn("yearly_category_summaries", 17);
+
+        int folded = backfillMonthKeys();
+
+        ensureUniqueKey("daily_category_summaries", "uk_dcs_user_date_category", "user_id, summary_date, category_id");
+        ensureUniqueKey("monthly_category_summaries", "uk_mcs_user_monthkey_category", "user_id, month_key, category_id");
+        ensureUniqueKey("yearly_category_summaries", "uk_ycs_user_year_category", "user_id, summary_year, category_id");
+
+        if (folded > 0) {
+            // The yearly rollup was built from keyed monthly rows only
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM yearly_category_summaries");
+                summaryWriter.recomputeAllYears();
+            });
+            logger.info("Recomputed yearly summaries after folding {} legacy monthly rows", folded);
+        }
+        dropLegacyKey();
+        migrated = true;
+    }
+
+    private void widenEmissionColumn(String table, int precision) {
+        Integer scale = jdbcTemplate.queryForObject(
+                "SELECT MAX(numeric_scale) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = 'total_emission'",
+                Integer.class, table);
+        if (scale == null || scale >= Transaction.CARBON_EMISSION_SCALE) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY total_emission DECIMAL(" + precision + ", "
+                + Transaction.CARBON_EMISSION_SCALE + ") NOT NULL");
+        logger.info("Widened {}.total_emission from scale {} to {}", table, scale, Transaction.CARBON_EMISSION_SCALE);
+    }
+
+    /**
+     * Returns the number of legacy rows folded into an existing keyed row.
+     */
+    private int backfillMonthKeys() {
+        Integer missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM monthly_category_summaries WHERE month_key IS NULL", Integer.class);
+        if (missing == null || missing == 0) {
+            return 0;
+        }
+
+        Integer folded = transactionTemplate.execute(status -> {
+            // Rows whose key is still free simply get it
+            int backfilled = jdbcTemplate.update("UPDATE IGNORE monthly_category_summaries " +
+                    "SET month_key = " + MONTH_KEY_OF_MONTH_YEAR + " WHERE month_key IS NULL");
+            if (backfilled > 0) {
+                logger.info("Backfilled month_key of {} monthly summaries", backfilled);
+            }
+            // The rest duplicate a keyed row: add their totals to it, then remove them
+            jdbcTemplate.update("UPDATE monthly_category_summaries k JOIN (" +
+                    "SELECT user_id, " + MONTH_KEY_OF_MONTH_YEAR + " AS month_key, category_id, " +
+                    "SUM(total_amount) AS amount, SUM(total_emission) AS emission " +
+                    "FROM monthly_category_summaries WHERE month_key IS NULL " +
+                    "GROUP BY user_id, " + MONTH_KEY_OF_MONTH_YEAR + ", category_id) n " +
+                    "ON k.user_id = n.user_id AND k.month_key = n.month_key AND k.category_id = n.category_id " +
+                    "SET k.total_amount = k.total_amount + n.amount, k.total_emission = k.total_emission + n.emission");
+            return jdbcTemplate.update("DELETE FROM monthly_category_summaries WHERE month_key IS NULL");
+        });
+        if (folded != null && folded > 0) {
+            logger.warn("Folded {} duplicate legacy monthly summaries into their keyed rows", folded);
+        }
+        return folded != null ? folded : 0;
+    }
+
+    /**
+     * The (user_id, month_year, category_id) key only costs writes once every row has a month_key.
+     */
+    private void dropLegacyKey() {
+        Integer legacyKey = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'monthly_category_summaries' AND index_name = ?",
+                Integer.class, LEGACY_UNIQUE_KEY);
+        if (legacyKey != null && legacyKey > 0) {
+            jdbcTemplate.execute("ALTER TABLE monthly_category_summaries DROP INDEX " + LEGACY_UNIQUE_KEY);
+            logger.info("Dropped unique key {} in favour of month_key", LEGACY_UNIQUE_KEY);
+        }
+    }
+
+    private void ensureUniqueKey(String table, String keyName, String columns) {
+        if (hasUniqueKey(table, keyName)) {
+            return;
+        }
+
+        String[] keyColumns = columns.split(", ");
+        String keyed = Arrays.stream(keyColumns).map(column -> column + " IS NOT NULL")
+                .collect(Collectors.joining(" AND "));
+        String sameKey = Arrays.stream(keyColumns).map(column -> "k." + column + " = s." + column)
+                .collect(Collectors.joining(" AND "));
+
+        Integer removed = transactionTemplate.execute(status -> {
+            // The oldest row of each duplicated key takes the totals of all of them...
+            jdbcTemplate.update("UPDATE " + table + " s JOIN (" +
+                    "SELECT MIN(id) AS keep_id, SUM(total_amount) AS amount, SUM(total_emission) AS emission, " +
+                    "MAX(last_aggregated_at) AS aggregated_at FROM " + table + " WHERE " + keyed +
+                    " GROUP BY " + columns + " HAVING COUNT(*) > 1) d ON s.id = d.keep_id " +
+                    "SET s.total_amount = d.amount, s.total_emission = d.emission, s.last_aggregated_at = d.aggregated_at");
+            // ...and the others go
+            return jdbcTemplate.update("DELETE s FROM " + table + " s JOIN " + table + " k ON " + sameKey + " AND k.id < s.id");
+        });
+        if (removed != null && removed > 0) {
+            logger.warn("Merged {} duplicate rows of {} before creating {}", removed, table, keyName);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + keyName + " UNIQUE (" + columns + ")");
+        if (!hasUniqueKey(table, keyName)) {
+            throw new IllegalStateException("Unique key " + keyName + " on " + table
+                    + " is missing; summary upserts would insert duplicate rows");
+        }
+        logger.info("Created unique key {} on {}", keyName, table);
+    }
+
+    private boolean hasUniqueKey(String table, String keyName) {
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? AND non_unique = 0",
+                Integer.class, table, keyName);
+        return columns != null && columns > 0;
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.DTO.ImportRejectReport.RejectedRow;
+import com.example.wealthverse.Enums.ImportRejectReason;
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Transaction;
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Turns the rows of a transaction CSV into unclassified {@link Transaction}s.
+ *
+ * The input is read ahead one window of records at a time into a shared char buffer; records are
+ * located by scanning for line breaks outside quotes, so no String is created per line. Each record is
+ * tokenized by {@link TransactionCsvTokenizer} straight from that buffer, only records containing quotes
+ * are turned into Strings and handed to opencsv's line parser. With {@code wealthverse.import.parallelism}
+ * above 1 a full window is cut into one segment per worker and the segments are parsed on a dedicated
+ * fork-join pool. Results are handed to the sink in file order with their original row numbers; inputs
+ * smaller than one window are parsed on the calling thread.
+ *
+ * Setting {@code wealthverse.import.fast-tokenizer=false} routes every file through the plain opencsv
+ * {@link CSVReader} instead.
+ */
+@Component
+public class TransactionCsvParser {
+
+    // Expected column order of an import file
+    static final String[] COLUMNS = {"amount", "paymentMode", "merchantId", "merchantName", "transactionType", "createdAt"};
+
+    private final int parallelism;
+    private final int windowRows;
+    private final boolean fastTokenizer;
+    private final ForkJoinPool parsePool;
+
+    public TransactionCsvParser(
+            @Value("${wealthverse.import.parallelism:0}") int parallelism,
+            @Value("${wealthverse.import.parallel-window-rows:16384}") int windowRows,
+            @Value("${wealthverse.import.fast-tokenizer:true}") boolean fastTokenizer) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.windowRows = windowRows;
+        this.fastTokenizer = fastTokenizer;
+        this.parsePool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (parsePool != null) {
+            parsePool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses every data row (the header row is skipped) and passes the outcome to {@code sink},
+     * in the order the rows appear in the file.
+     */
+    public void parse(Reader reader, Consumer<ParsedRow> sink) throws IOException, CsvException {
+        if (fastTokenizer) {
+            parseInWindows(reader, sink);
+        } else {
+            parseWithCsvReader(reader, sink);
+        }
+    }
+
+    private void parseWithCsvReader(Reader reader, Consumer<ParsedRow> sink) throws IOException, CsvException {
+        try (CSVReader csvReader = new CSVReaderBuilder(reader).withSkipLines(1).build()) {
+            String[] row;
+            int rowNum = 1;
+
+            while ((row = csvReader.readNext()) != null) {
+                rowNum++;
+                sink.accept(mapRow(row, rowNum));
+            }
+        }
+    }
+
+    private void parseInWindows(Reader reader, Consumer<ParsedRow> sink) throws IOException {
+        RecordWindowReader windows = new RecordWindowReader(reader);
+        RecordWindow window = new RecordWindow(windowRows + 1);
+
+        // The header shares the first window with the data rows
+        if (!windows.fill(window, windowRows + 1)) {
+            return;
+        }
+        int first = 1;
+        int firstRowNum = 2;
+        boolean parallel = parsePool != null && window.count == windowRows + 1;
+
+        do {
+            emit(parseWindow(window, first, firstRowNum, parallel), sink);
+            firstRowNum += window.count - first;
+            first = 0;
+        } while (windows.fill(window, windowRows));
+    }
+
+    private List<ParsedRow> parseWindow(RecordWindow window, int first, int firstRowNum, boolean parallel) throws IOException {
+        int records = window.count - first;
+        if (!parallel || records < parallelism) {
+            return parseSegment(window, first, window.count, firstRowNum - first);
+        }
+
+        int segmentSize = (records + parallelism - 1) / parallelism;
+        List<Callable<List<ParsedRow>>> segments = new ArrayList<>(parallelism);
+        for (int from = first; from < window.count; from += segmentSize) {
+            int start = from;
+            int end = Math.min(from + segmentSize, window.count);
+            segments.add(() -> parseSegment(window, start, end, firstRowNum - first));
+        }
+
+        List<ParsedRow> parsed = new ArrayList<>(records);
+        try {
+            for (Future<List<ParsedRow>> segment : parsePool.invokeAll(segments)) {
+                parsed.addAll(segment.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse CSV segment", e.getCause());
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses records {@code [start, end)} of the window; record {@code i} is row {@code rowNumBase + i}.
+     */
+    private List<ParsedRow> parseSegment(RecordWindow window, int start, int end, int rowNumBase) {
+        // Tokenizer and CSVParser keep per-record state, so every segment gets its own
+        TransactionCsvTokenizer tokenizer = new TransactionCsvTokenizer();
+        CSVParser quotedRecordParser = null;
+        List<ParsedRow> parsed = new ArrayList<>(end - start);
+
+        for (int i = start; i < end; i++) {
+            int rowNum = rowNumBase + i;
+            int recordStart = window.starts[i];
+            int recordEnd = window.ends[i];
+
+            switch (tokenizer.tokenize(window.data, recordStart, recordEnd)) {
+                case PARSED -> parsed.add(ParsedRow.parsed(rowNum, tokenizer.getTransaction()));
+                case SKIPPED -> parsed.add(tokenizer.getFailedColumn() < 0
+                        ? ParsedRow.skipped(rowNum, null, ImportRejectReason.INSUFFICIENT_COLUMNS, "Expected " + COLUMNS.length + " columns")
+                        : ParsedRow.skipped(rowNum, COLUMNS[tokenizer.getFailedColumn()], ImportRejectReason.EMPTY_MERCHANT, "Merchant ID or name is empty"));
+                case FAILED -> parsed.add(ParsedRow.failed(rowNum, tokenizer.getFailedColumn(), tokenizer.getFailureMessage()));
+                case NOT_SUPPORTED -> {
+                    if (quotedRecordParser == null) {
+                        quotedRecordParser = new CSVParserBuilder().build();
+                    }
+                    try {
+                        String record = new String(window.data, recordStart, recordEnd - recordStart);
+                        parsed.add(mapRow(quotedRecordParser.parseLine(record), rowNum));
+                    } catch (IOException e) {
+                        parsed.add(ParsedRow.failed(rowNum, -1, e.getMessage()));
+                    }
+                }
+            }
+        }
+        return parsed;
+    }
+
+    private void emit(List<ParsedRow> rows, Consumer<ParsedRow> sink) {
+        for (ParsedRow row : rows) {
+            sink.accept(row);
+        }
+    }
+
+    private ParsedRow mapRow(String[] row, int rowNum) {
+        if (row.length < COLUMNS.length) {
+            return ParsedRow.skipped(rowNum, null, ImportRejectReason.INSUFFICIENT_COLUMNS, "Expected " + COLUMNS.length + " columns");
+        }
+
+        int column = 0;
+        try {
+            BigDecimal amount = new BigDecimal(row[0].trim());
+            column = 1;
+            PaymentMode paymentMode = PaymentMode.valueOf(row[1].trim().toUpperCase());
+            column = 2;
+            String merchantId = row[2].trim();
+            column = 3;
+            String merchantName = row[3].trim();
+            column = 4;
+            TransactionType transactionType = TransactionType.valueOf(row[4].trim().toUpperCase());
+            column = 5;
+            LocalDateTime createdAt = LocalDateTime.parse(row[5].trim());
+
+            if (merchantId.isEmpty() || merchantName.isEmpty()) {
+                return ParsedRow.skipped(rowNum, COLUMNS[merchantId.isEmpty() ? 2 : 3],
+                        ImportRejectReason.EMPTY_MERCHANT, "Merchant ID or name is empty");
+            }
+
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setPaymentMode(paymentMode);
+            transaction.setMerchantId(merchantId);
+            transaction.setMerchantName(merchantName.toUpperCase());
+            transaction.setTransactionType(transactionType);
+            transaction.setCreatedAt(createdAt);
+            return ParsedRow.parsed(rowNum, transaction);
+        } catch (RuntimeException e) {
+            return ParsedRow.failed(rowNum, column, e.getMessage());
+        }
+    }
+
+    /**
+     * Record boundaries of one window; {@code data} is shared by all records and only valid until
+     * the next {@link RecordWindowReader#fill}.
+     */
+    private static final class RecordWindow {
+        private char[] data;
+        private final int[] starts;
+        private final int[] ends;
+        private int count;
+
+        private RecordWindow(int capacity) {
+            this.starts = new int[capacity];
+            this.ends = new int[capacity];
+        }
+
+        private void add(int start, int end) {
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+    }
+
+    /**
+     * Reads the input into a reusable, growable char buffer and splits it into records at line
+     * breaks that are not inside a quoted field. A trailing carriage return is not part of the record.
+     */
+    private static final class RecordWindowReader {
+        private final Reader reader;
+        private char[] buffer = new char[64 * 1024];
+        private int length;
+        private int position;
+        private boolean eof;
+
+        private RecordWindowReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private boolean fill(RecordWindow window, int maxRecords) throws IOException {
+            // Everything before position belongs to the previous window, which has been consumed
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, length - position);
+                length -= position;
+                position = 0;
+            }
+            window.count = 0;
+
+            int recordStart = 0;
+            int scan = 0;
+            boolean inQuotes = false;
+            while (window.count < maxRecords) {
+                if (scan == length) {
+                    if (eof || !readMore()) {
+                        break;
+                    }
+                    continue;
+                }
+                char c = buffer[scan++];
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    window.add(recordStart, stripCarriageReturn(recordStart, scan - 1));
+                    recordStart = scan;
+                }
+            }
+
+            // Last record without a trailing line break
+            if (window.count < maxRecords && eof && recordStart < length) {
+                window.add(recordStart, stripCarriageReturn(recordStart, length));
+                recordStart = length;
+            }
+
+            position = recordStart;
+            window.data = buffer;
+            return window.count > 0;
+        }
+
+        private boolean readMore() throws IOException {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = reader.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            length += read;
+            return true;
+        }
+
+        private int stripCarriageReturn(int start, int end) {
+            return (end > start && buffer[end - 1] == '\r') ? end - 1 : end;
+        }
+    }
+
+    /**
+     * Outcome of one CSV data row; {@link #getTransaction()} is only set for {@link Status#PARSED},
+     * {@link #getRejection()} for the other two.
+     */
+    public static final class ParsedRow {
+
+        public enum Status {
+            PARSED,
+            SKIPPED,
+            FAILED
+        }
+
+        private static final int MAX_DETAIL_LENGTH = 200;
+
+        private final int rowNum;
+        private final Status status;
+        private final Transaction transaction;
+        private final RejectedRow rejection;
+
+        private ParsedRow(int rowNum, Status status, Transaction transaction, RejectedRow rejection) {
+            this.rowNum = rowNum;
+            this.status = status;
+            this.transaction = transaction;
+            this.rejection = rejection;
+        }
+
+        static ParsedRow parsed(int rowNum, Transaction transaction) {
+            return new ParsedRow(rowNum, Status.PARSED, transaction, null);
+        }
+
+        static ParsedRow skipped(int rowNum, String column, ImportRejectReason reason, String detail) {
+            return new ParsedRow(rowNum, Status.SKIPPED, null, new RejectedRow(rowNum, column, reason, detail));
+        }
+
+        /**
+         * A row with a value that could not be parsed in zero-based {@code column}, or -1 when the
+         * record itself is malformed.
+         */
+        static ParsedRow failed(int rowNum, int column, String detail) {
+            if (detail != null && detail.length() > MAX_DETAIL_LENGTH) {
+                detail = detail.substring(0, MAX_DETAIL_LENGTH);
+            }
+            RejectedRow rejection = new RejectedRow(rowNum, column >= 0 ? COLUMNS[column] : null,
+                    ImportRejectReason.forColumn(column), detail);
+            return new ParsedRow(rowNum, Status.FAILED, null, rejection);
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Transaction getTransaction() {
+            return transaction;
+        }
+
+        public RejectedRow getRejection() {
+            return rejection;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Allocation-lean reader for the fixed six-column transaction layout
+ * (amount, paymentMode, merchantId, merchantName, transactionType, createdAt).
+ *
+ * Works directly on a slice of a shared char buffer: amounts are accumulated into an unscaled long,
+ * ISO timestamps are read digit by digit and enum tokens are matched against precomputed tables, so the
+ * only Strings created per row are the merchant id and the upper-cased merchant name. Anything outside
+ * the common shapes (exponents, very long numbers, offsets in timestamps, ...) is handed to the same JDK
+ * parsers the generic path uses, which keeps results and failures identical. Quoted records are not
+ * handled here at all; callers send those to opencsv.
+ *
+ * Instances are not thread-safe; use one per parsing thread.
+ */
+public class TransactionCsvTokenizer {
+
+    private static final int COLUMNS = 6;
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final PaymentMode[] PAYMENT_MODE_VALUES = PaymentMode.values();
+    private static final TransactionType[] TRANSACTION_TYPE_VALUES = TransactionType.values();
+    private static final char[][] PAYMENT_MODES = names(PAYMENT_MODE_VALUES);
+    private static final char[][] TRANSACTION_TYPES = names(TRANSACTION_TYPE_VALUES);
+
+    private final int[] fieldStart = new int[COLUMNS];
+    private final int[] fieldEnd = new int[COLUMNS];
+
+    /**
+     * Parsing outcome of one record; {@link #transaction} is only set for {@link Outcome#PARSED}.
+     */
+    public enum Outcome {
+        PARSED,
+        SKIPPED,
+        FAILED,
+        NOT_SUPPORTED
+    }
+
+    private Outcome outcome;
+    private Transaction transaction;
+    private int failedColumn;
+    private String failureMessage;
+
+    public static boolean containsQuote(char[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == '"') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tokenizes {@code data[start, end)}. Afterwards {@link #getOutcome()} tells whether a
+     * transaction was produced, the row should be skipped, it failed validation, or it contains
+     * quotes and must go through opencsv.
+     */
+    public Outcome tokenize(char[] data, int start, int end) {
+        transaction = null;
+        failedColumn = -1;
+        failureMessage = null;
+
+        if (containsQuote(data, start, end)) {
+            return outcome = Outcome.NOT_SUPPORTED;
+        }
+
+        int fields = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end && fields < COLUMNS; i++) {
+            if (i == end || data[i] == ',') {
+                fieldStart[fields] = fieldBegin;
+                fieldEnd[fields] = i;
+                fields++;
+                fieldBegin = i + 1;
+            }
+        }
+        if (fields < COLUMNS) {
+            return outcome = Outcome.SKIPPED;
+        }
+
+        for (int column = 0; column < COLUMNS; column++) {
+            trim(data, column);
+        }
+
+        int column = 0;
+        try {
+            BigDecimal amount = parseAmount(data, fieldStart[0], fieldEnd[0]);
+            column = 1;
+            PaymentMode paymentMode = PAYMENT_MODE_VALUES[lookup(PAYMENT_MODES, data, fieldStart[1], fieldEnd[1], "PaymentMode")];
+            column = 2;
+            String merchantId = new String(data, fieldStart[2], fieldEnd[2] - fieldStart[2]);
+            column = 3;
+            String merchantName = upperCase(data, fieldStart[3], fieldEnd[3]);
+            column = 4;
+            TransactionType transactionType = TRANSACTION_TYPE_VALUES[lookup(TRANSACTION_TYPES, data, fieldStart[4], fieldEnd[4], "TransactionType")];
+            column = 5;
+            LocalDateTime createdAt = parseTimestamp(data, fieldStart[5], fieldEnd[5]);
+
+            if (merchantId.isEmpty() || merchantName.isEmpty()) {
+                failedColumn = merchantId.isEmpty() ? 2 : 3;
+                return outcome = Outcome.SKIPPED;
+            }
+
+            Transaction parsed = new Transaction();
+            parsed.setAmount(amount);
+            parsed.setPaymentMode(paymentMode);
+            parsed.setMerchantId(merchantId);
+            parsed.setMerchantName(merchantName);
+            parsed.setTransactionType(transactionType);
+            parsed.setCreatedAt(createdAt);
+            transaction = parsed;
+            return outcome = Outcome.PARSED;
+        } catch (RuntimeException e) {
+            failedColumn = column;
+            failureMessage = e.getMessage();
+            return outcome = Outcome.FAILED;
+        }
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Zero-based column that failed validation or was empty, or -1 (also for rows with too few columns).
+     */
+    public int getFailedColumn() {
+        return failedColumn;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    // Same definition of whitespace as String.trim()
+    private void trim(char[] data, int column) {
+        int start = fieldStart[column];
+        int end = fieldEnd[column];
+        while (start < end && data[start] <= ' ') {
+            start++;
+        }
+        while (end > start && data[end - 1] <= ' ') {
+            end--;
+        }
+        fieldStart[column] = start;
+        fieldEnd[column] = end;
+    }
+
+    static BigDecimal parseAmount(char[] data, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (data[i] == '-' || data[i] == '+')) {
+            negative = data[i] == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = data[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return new BigDecimal(new String(data, start, end - start));
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                // Exponents and anything unexpected: let BigDecimal decide (and fail) exactly as before
+                return new BigDecimal(new String(data, start, end - start));
+            }
+        }
+
+        if (digits == 0) {
+            return new BigDecimal(new String(data, start, end - start));
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Accepts {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]}; every other shape goes to
+     * {@link LocalDateTime#parse(CharSequence)}.
+     */
+    static LocalDateTime parseTimestamp(char[] data, int start, int end) {
+        int length = end - start;
+        boolean fastShape = (length == 16 || length >= 19)
+                && data[start + 4] == '-' && data[start + 7] == '-' && data[start + 10] == 'T'
+                && data[start + 13] == ':'
+                && (length == 16 || data[start + 16] == ':')
+                && (length <= 19 || (data[start + 19] == '.' && length >= 21 && length <= 29));
+
+        if (fastShape) {
+            int year = digits(data, start, 4);
+            int month = digits(data, start + 5, 2);
+            int day = digits(data, start + 8, 2);
+            int hour = digits(data, start + 11, 2);
+            int minute = digits(data, start + 14, 2);
+            int second = length >= 19 ? digits(data, start + 17, 2) : 0;
+            int nano = 0;
+            if (length > 19) {
+                int fractionDigits = length - 20;
+                nano = digits(data, start + 20, fractionDigits);
+                for (int i = fractionDigits; i < 9; i++) {
+                    nano *= 10;
+                }
+            }
+
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0 && nano >= 0) {
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+
+        return LocalDateTime.parse(new String(data, start, length));
+    }
+
+    // Returns -1 when the slice is not all ASCII digits
+    private static int digits(char[] data, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = data[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int lookup(char[][] table, char[] data, int start, int end, String enumName) {
+        int length = end - start;
+        for (int ordinal = 0; ordinal < table.length; ordinal++) {
+            char[] name = table[ordinal];
+            if (name.length != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && Character.toUpperCase(data[start + i]) == name[i]) {
+                i++;
+            }
+            if (i == length) {
+                return ordinal;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + enumName + "." + new String(data, start, length).toUpperCase());
+    }
+
+    private static String upperCase(char[] data, int start, int end) {
+        char[] upper = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = data[i];
+            if (c >= 0x80) {
+                // Locale-aware rules (e.g. German sharp s) can change the length; use the JDK
+                return new String(data, start, end - start).toUpperCase();
+            }
+            upper[i - start] = (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+        }
+        return new String(upper);
+    }
+
+    private static char[][] names(Enum<?>[] constants) {
+        char[][] names = new char[constants.length][];
+        for (Enum<?> constant : constants) {
+            names[constant.ordinal()] = constant.name().toCharArray();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.Enums.ExportFormat;
+import com.example.wealthverse.Exception.TooManyRequestsException;
+import com.example.wealthverse.Repository.TransactionRepository;
+import com.example.wealthverse.Service.JWTService;
+import com.example.wealthverse.Service.TransactionExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a user's transactions as CSV or NDJSON. Rows come from a forward-only database cursor as
+ * {@link TransactionDTO}s and go straight into a buffered writer, so memory use does not depend on
+ * the number of rows exported.
+ *
+ * At most {@code wealthverse.export.workers} exports run at once, one per user; further requests
+ * get a 429 instead of waiting for a thread. The slot is released when the body finishes or, if it
+ * never runs or is still running, when the async request ends (timeout, error, rejected task).
+ */
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String EXPORT_SLOT_KEY = TransactionExportServiceImpl.class.getName() + ".slot";
+    // The first six columns are the import format, so an export can be imported again
+    private static final String CSV_HEADER =
+            "amount,paymentMode,merchantId,merchantName,transactionType,createdAt,categoryName,carbonEmitted,id";
+
+    private final TransactionRepository transactionRepository;
+    private final JWTService jwtService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+    private final Set<Long> exportingUsers = ConcurrentHashMap.newKeySet();
+
+    public TransactionExportServiceImpl(
+            TransactionRepository transactionRepository,
+            JWTService jwtService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${wealthverse.export.workers:2}") int workers) {
+        this.transactionRepository = transactionRepository;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(workers);
+    }
+
+    @Override
+    public StreamingResponseBody exportTransactions(String authHeader, ExportFormat format, CreatedAtRange range, boolean gzip) {
+        Long userId = jwtService.getUserIdFromToken(authHeader.replace("Bearer ", ""));
+        if (!exportingUsers.add(userId)) {
+            throw new TooManyRequestsException("An export is already running for this user");
+        }
+        if (!slots.tryAcquire()) {
+            exportingUsers.remove(userId);
+            throw new TooManyRequestsException("Too many exports running, please try again later");
+        }
+        Runnable release = releaseOnce(userId);
+        releaseWhenRequestEnds(release);
+
+        return out -> {
+            long started = System.currentTimeMillis();
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+                long rows = readOnlyTransaction.execute(status -> write(userId, format, range, target));
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                logger.info("Exported {} transactions of user {} as {} in {} ms",
+                        rows, userId, format, System.currentTimeMillis() - started);
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; the rest of the cursor is simply not read
+                throw e.getCause();
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private Runnable releaseOnce(Long userId) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+                exportingUsers.remove(userId);
+            }
+        };
+    }
+
+    /**
+     * The body's finally only runs if the body is started; the async request always completes.
+     */
+    private static void releaseWhenRequestEnds(Runnable release) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(servletAttributes.getRequest()).registerCallableInterceptor(EXPORT_SLOT_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+    }
+
+    private long write(Long userId, ExportFormat format, CreatedAtRange range, OutputStream out) {
+        try (Stream<TransactionDTO> rows = range == null
+                ? transactionRepository.streamForExport(userId)
+                : transactionRepository.streamForExportInRange(userId, range.from(), range.to())) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            long count = 0;
+            Iterator<TransactionDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionDTO tx = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, tx);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(tx));
+                }
+                writer.write('\n');
+                count++;
+            }
+            // Flush only; closing would close the response stream before the gzip trailer
+            writer.flush();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, TransactionDTO tx) throws IOException {
+        writer.write(decimalValue(tx.getAmount()));
+        writer.write(',');
+        writer.write(tx.getPaymentMode() != null ? tx.getPaymentMode().name() : "");
+        writer.write(',');
+        writer.write(csvValue(tx.getMerchantId()));
+        writer.write(',');
+        writer.write(csvValue(tx.getMerchantName()));
+        writer.write(',');
+        writer.write(tx.getTransactionType() != null ? tx.getTransactionType().name() : "");
+        writer.write(',');
+        writer.write(tx.getCreatedAt() != null ? tx.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(csvValue(tx.getCategoryName()));
+        writer.write(',');
+        writer.write(decimalValue(tx.getCarbonEmitted()));
+        writer.write(',');
+        writer.write(String.valueOf(tx.getId()));
+    }
+
+    private static String decimalValue(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
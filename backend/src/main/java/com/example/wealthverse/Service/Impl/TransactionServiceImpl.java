@@ -2,9 +2,17 @@ package com.example.wealthverse.Service.Impl;
 
 import com.example.wealthverse.DTO.AddTransactionRequest;
 import com.example.wealthverse.DTO.CategoryApplyRequest;
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.DTO.CursorPage;
+import com.example.wealthverse.DTO.ImportRejectReport.RejectedRow;
+import com.example.wealthverse.DTO.DayCategoryTotals;
+import com.example.wealthverse.DTO.ImportResult;
+import com.example.wealthverse.DTO.TransactionCursor;
 import com.example.wealthverse.DTO.TransactionDTO;
-import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.DTO.TransactionFilter;
+import com.example.wealthverse.Enums.ImportRejectReason;
 import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Exception.BadRequestException;
 import com.example.wealthverse.Exception.ResourceNotFoundException;
 import com.example.wealthverse.Model.Category;
 import com.example.wealthverse.Model.MerchantCategoryMapping;
@@ -12,200 +20,250 @@ import com.example.wealthverse.Model.Transaction;
 import com.example.wealthverse.Model.User;
 import com.example.wealthverse.Repository.CategoryRepository;
 import com.example.wealthverse.Repository.MerchantCategoryMappingRepository;
+import com.example.wealthverse.Repository.TransactionBatchWriter;
 import com.example.wealthverse.Repository.TransactionRepository;
+import com.example.wealthverse.Repository.TransactionSpecifications;
 import com.example.wealthverse.Repository.UserRepository;
+import com.example.wealthverse.Service.CategoryRegistry;
 import com.example.wealthverse.Service.JWTService;
+import com.example.wealthverse.Service.TransactionFingerprint;
 import com.example.wealthverse.Service.TransactionService;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
+import com.example.wealthverse.Service.Impl.TransactionCsvParser.ParsedRow;
 import com.opencsv.exceptions.CsvException;
-import org.apache.coyote.BadRequestException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.Year;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionServiceImpl.class);
-    private static final int BATCH_SIZE = 500;
 
     private final TransactionRepository transactionRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
     private final MerchantCategoryMappingRepository mappingRepository;
     private final UserRepository userRepository;
     private final JWTService jwtService;
 
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionCsvParser transactionCsvParser;
+
+    @Value("${wealthverse.import.chunk-size:1000}")
+    private int importChunkSize;
+
+    @Value("${wealthverse.transactions.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${wealthverse.transactions.filter.scan-limit:100000}")
+    private long filterScanLimit;
+
     private  final MonthlyCategorySummaryServiceImpl monthlyCategorySummaryService;
     @Autowired
     private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
 
     @Autowired
     public TransactionServiceImpl(
             TransactionRepository transactionRepository,
+            TransactionBatchWriter transactionBatchWriter,
             MerchantCategoryMappingRepository mappingRepository,
             UserRepository userRepository,
             JWTService jwtService, MonthlyCategorySummaryServiceImpl monthlyCategorySummaryService,
-            CategoryRepository categoryRepository) {
+            CategoryRepository categoryRepository,
+            CategoryRegistry categoryRegistry,
+            TransactionTemplate transactionTemplate,
+            TransactionCsvParser transactionCsvParser) {
         this.transactionRepository = transactionRepository;
+        this.transactionBatchWriter = transactionBatchWriter;
         this.mappingRepository = mappingRepository;
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.monthlyCategorySummaryService = monthlyCategorySummaryService;
         this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionCsvParser = transactionCsvParser;
     }
 
     private BigDecimal calculateCarbonEmission(Transaction transaction, boolean globalMapping) {
         if (transaction.getTransactionType() == TransactionType.DEBIT && globalMapping) {
             BigDecimal emissionFactor = transaction.getCategory().getEmissionFactor();
             BigDecimal amount = transaction.getAmount();
-            BigDecimal emission = amount.multiply(emissionFactor);
-            return emission;
+            return Transaction.carbonEmissionOf(amount, emissionFactor);
         } else {
 
             return BigDecimal.ZERO;
         }
     }
 
+    /**
+     * Imports a CSV stream for one user. Rows are parsed by {@link TransactionCsvParser}, sequentially
+     * or on its fork-join pool, and every chunk of {@code importChunkSize} parsed rows is
+     * classified, persisted and aggregated in its own database transaction, so neither memory nor
+     * transaction length grow with the size of the file. Counters and rejected rows are collected
+     * in {@code result}, which is also handed to {@code progressListener} after each committed chunk.
+     */
     @Override
-    @Transactional
-    public void importFromCsv(MultipartFile csvFile, String authHeader) throws IOException, CsvException {
-        if (csvFile == null || csvFile.isEmpty()) {
-            throw new IllegalArgumentException("CSV file cannot be empty");
-        }
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new BadRequestException("Invalid authorization header");
-        }
-
-        User user = extractUserFromToken(authHeader);
+    public ImportResult importFromCsv(InputStream csvStream, Long userId, ImportResult result,
+                                      Consumer<ImportResult> progressListener) throws IOException, CsvException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID " + userId));
         logger.info("Importing transactions for user ID: {}", user.getId());
 
-        List<Transaction> transactions = parseTransactionsFromCsv(csvFile, user);
-        saveBatchTransactions(transactions);
-
-        monthlyCategorySummaryService.updateMonthlySummaries(transactions);
+        List<ParsedRow> chunk = new ArrayList<>(importChunkSize);
+
+        try (Reader reader = new InputStreamReader(csvStream)) {
+            transactionCsvParser.parse(reader, row -> {
+                result.rowParsed();
+                switch (row.getStatus()) {
+                    case PARSED -> {
+                        Transaction transaction = row.getTransaction();
+                        transaction.setUser(user);
+                        transaction.setFingerprint(TransactionFingerprint.of(transaction));
+                        chunk.add(row);
+                    }
+                    case SKIPPED -> result.rowSkipped(row.getRejection());
+                    case FAILED -> result.rowFailed(row.getRejection());
+                }
 
-        logger.info("Successfully imported {} transactions for user ID: {}", transactions.size(), user.getId());
-    }
+                if (chunk.size() >= importChunkSize) {
+                    persistChunk(chunk, user, result);
+                    progressListener.accept(result);
+                }
+            });
+        }
 
-    private User extractUserFromToken(String authHeader) {
-        String token = authHeader.replace("Bearer ", "");
-        Long userId = jwtService.getUserIdFromToken(token);
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, user, result);
+        }
+        progressListener.accept(result);
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID " + userId));
+        // One line per import; individual rejected rows are in the result's reject report
+        logger.info("Imported {} of {} rows for user ID: {} ({} skipped, {} failed, rejects by reason: {})",
+                result.getRowsInserted(), result.getRowsParsed(), user.getId(),
+                result.getRowsSkipped(), result.getRowsFailed(), result.getRejects().getCountsByReason());
+        return result;
     }
 
-    private List<Transaction> parseTransactionsFromCsv(MultipartFile csvFile, User user) throws IOException, CsvException {
-        List<Transaction> transactions = new ArrayList<>();
-
-        try (Reader reader = new InputStreamReader(csvFile.getInputStream());
-             CSVReader csvReader = new CSVReaderBuilder(reader).withSkipLines(1).build()) {
-
-            String[] row;
-            int rowNum = 1;
+    /**
+     * Drops rows that are already stored, classifies, inserts and aggregates the rest inside a
+     * transaction of its own, then empties the chunk.
+     */
+    private void persistChunk(List<ParsedRow> chunk, User user, ImportResult result) {
+        List<Transaction> transactions = dropDuplicates(chunk, user, result);
+
+        if (!transactions.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                classifyChunk(transactions, user);
+                transactionBatchWriter.insertAll(transactions);
+                monthlyCategorySummaryService.updateMonthlySummaries(transactions);
+            });
+        }
 
-            while ((row = csvReader.readNext()) != null) {
-                rowNum++;
-                try {
-                    if (row.length < 6) {
-                        logger.warn("Skipping row {} - insufficient columns", rowNum);
-                        continue;
-                    }
+        result.rowsInserted(transactions.size());
+        logger.debug("Persisted chunk of {} transactions", transactions.size());
+        chunk.clear();
+    }
 
-                    Transaction transaction = createTransactionFromRow(row, user, rowNum);
-                    if (transaction != null) {
-                        transactions.add(transaction);
-                    }
-                } catch (Exception e) {
-                    logger.error("Error processing row {}: {}", rowNum, e.getMessage());
-                }
+    /**
+     * Returns the transactions of the chunk whose fingerprint is neither stored yet nor repeated
+     * earlier in the chunk; the others are reported as skipped duplicates. Earlier chunks of the same
+     * file are already committed, so one IN lookup per chunk covers the whole import.
+     */
+    private List<Transaction> dropDuplicates(List<ParsedRow> chunk, User user, ImportResult result) {
+        Set<String> fingerprints = new HashSet<>();
+        for (ParsedRow row : chunk) {
+            fingerprints.add(row.getTransaction().getFingerprint());
+        }
+        Set<String> seen = new HashSet<>(transactionRepository.findExistingFingerprints(user.getId(), fingerprints));
+
+        List<Transaction> transactions = new ArrayList<>(chunk.size());
+        for (ParsedRow row : chunk) {
+            if (seen.add(row.getTransaction().getFingerprint())) {
+                transactions.add(row.getTransaction());
+            } else {
+                result.rowSkipped(new RejectedRow(row.getRowNum(), null, ImportRejectReason.DUPLICATE,
+                        "Transaction already imported"));
             }
         }
-
         return transactions;
     }
 
-    private Transaction createTransactionFromRow(String[] row, User user, int rowNum) {
-        try {
-            BigDecimal amount = new BigDecimal(row[0].trim());
-            PaymentMode paymentMode = PaymentMode.valueOf(row[1].trim().toUpperCase());
-            String merchantId = row[2].trim();
-            String merchantName = row[3].trim();
-            TransactionType transactionType = TransactionType.valueOf(row[4].trim().toUpperCase());
-            LocalDateTime createdAt = LocalDateTime.parse(row[5].trim());
-
-            if (merchantId.isEmpty() || merchantName.isEmpty()) {
-                logger.warn("Skipping row {} - merchant ID or name is null/empty", rowNum);
-                return null;
-            }
+    /**
+     * Assigns category, mapping flag and emission to every transaction of a chunk. The distinct
+     * merchant names are resolved with a single query, so the cost scales with the number of
+     * merchants in the chunk rather than the number of rows.
+     */
+    private void classifyChunk(List<Transaction> chunk, User user) {
+        Set<String> merchantNames = new HashSet<>();
+        for (Transaction transaction : chunk) {
+            merchantNames.add(transaction.getMerchantName());
+        }
+
+        Map<String, MerchantCategoryMapping> mappings = resolveBestMappings(merchantNames, user.getId());
 
-            MerchantCategoryMapping mapping;
-            Transaction transaction = new Transaction();
+        Category fallbackCategory = categoryRegistry.getFallbackCategory();
 
-            Optional<MerchantCategoryMapping> mappingOpt=
-                    mappingRepository
-                            .findBestMapping(merchantName.toUpperCase(), user.getId());
+        for (Transaction transaction : chunk) {
+            MerchantCategoryMapping mapping = mappings.get(transaction.getMerchantName());
 
-            Category category = categoryRepository.findById(16L)
-                    .orElseThrow(() -> new IllegalArgumentException("Categiory not found with ID "));
-            boolean gloablmapping=false;
-            if(mappingOpt.isPresent()) {
-                mapping = mappingOpt.get();
+            Category category = fallbackCategory;
+            boolean globalMapping = false;
+            if (mapping != null) {
                 category = mapping.getCategory();
-                gloablmapping=mapping.getIsGlobalMapping();
+                globalMapping = Boolean.TRUE.equals(mapping.getIsGlobalMapping());
             }
 
-            transaction.setAmount(amount);
-            transaction.setPaymentMode(paymentMode);
-            transaction.setMerchantId(merchantId);
-            transaction.setMerchantName(merchantName.toUpperCase());
-            transaction.setTransactionType(transactionType);
-            transaction.setCreatedAt(createdAt);
-            transaction.setUser(user);
             transaction.setCategory(category);
-            transaction.setIsGloballyMapped(gloablmapping);
-
-
-            BigDecimal emission =calculateCarbonEmission(transaction,gloablmapping);
-
-            transaction.setCarbonEmission(emission);
-
-            return transaction;
-        } catch (Exception e) {
-            logger.error("Error parsing row {}: {}", rowNum, e.getMessage());
-            return null;
+            transaction.setIsGloballyMapped(globalMapping);
+            transaction.setCarbonEmission(calculateCarbonEmission(transaction, globalMapping));
         }
     }
 
-
-    private void saveBatchTransactions(List<Transaction> transactions) {
-        for (int i = 0; i < transactions.size(); i += BATCH_SIZE) {
-            int endIndex = Math.min(i + BATCH_SIZE, transactions.size());
-            List<Transaction> batch = transactions.subList(i, endIndex);
-            transactionRepository.saveAll(batch);
-            logger.debug("Saved batch of {} transactions", batch.size());
+    /**
+     * Set-based counterpart of {@link MerchantCategoryMappingRepository#findBestMapping}: a mapping
+     * owned by the user wins over the global mapping of user 1 for the same merchant.
+     */
+    private Map<String, MerchantCategoryMapping> resolveBestMappings(Set<String> merchantNames, Long userId) {
+        Map<String, MerchantCategoryMapping> bestMappings = new HashMap<>();
+        if (merchantNames.isEmpty()) {
+            return bestMappings;
         }
 
+        for (MerchantCategoryMapping candidate : mappingRepository.findCandidateMappings(merchantNames, userId)) {
+            String merchantName = candidate.getMerchantName().toUpperCase();
+            MerchantCategoryMapping current = bestMappings.get(merchantName);
+            if (current == null || (!isOwnedBy(current, userId) && isOwnedBy(candidate, userId))) {
+                bestMappings.put(merchantName, candidate);
+            }
+        }
 
-
+        return bestMappings;
     }
 
+    private boolean isOwnedBy(MerchantCategoryMapping mapping, Long userId) {
+        return mapping.getUser() != null && userId.equals(mapping.getUser().getId());
+    }
 
     @Override
     @Transactional
@@ -223,14 +281,19 @@ public class TransactionServiceImpl implements TransactionService {
         tx.setTransactionType(request.getTransactionType());
         tx.setCreatedAt(request.getCreatedAt() != null ? request.getCreatedAt() : LocalDateTime.now());
         tx.setUser(user);
+        // Manual adds are never rejected as duplicates; only imports skip those. A repeat keeps no
+        // fingerprint, which the unique (user_id, fingerprint) index would not allow twice
+        String fingerprint = TransactionFingerprint.of(tx);
+        if (!transactionRepository.existsByUserIdAndFingerprint(user.getId(), fingerprint)) {
+            tx.setFingerprint(fingerprint);
+        }
 
         Optional<MerchantCategoryMapping> mappingOpt=
                 mappingRepository
                         .findBestMapping(request.getMerchantName().toUpperCase(), user.getId());
         MerchantCategoryMapping mapping;
 
-        Category category = categoryRepository.findById(16L)
-                .orElseThrow(() -> new IllegalArgumentException("Categiory not found with ID "));
+        Category category = categoryRegistry.getFallbackCategory();
         boolean gloablmapping=false;
         if(mappingOpt.isPresent()) {
             mapping = mappingOpt.get();
@@ -246,7 +309,7 @@ public class TransactionServiceImpl implements TransactionService {
         tx.setCarbonEmission(emission);
 
         transactionRepository.save(tx);
-        monthlyCategorySummaryService.updateMonthlySummaries(List.of(tx));
+        monthlyCategorySummaryService.updateSummariesForTransaction(tx);
 
     }
 
@@ -260,63 +323,126 @@ public class TransactionServiceImpl implements TransactionService {
         // 2. Build pageable: sort by createdAt desc
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
 
-        // 3. Query repository
-        Page<Transaction> txPage = transactionRepository.findAllByUserId(userId, pageable);
+        // 3. Query repository; rows come back as DTOs with the category name joined in
+        return transactionRepository.findDtoPageByUserId(userId, pageable);
+    }
 
-        // 4. Map to DTO
-        return txPage.map(this::mapToDTO);
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TransactionDTO> getTransactionsByMonth(String authHeader, int month, Integer year, int page, int size) {
+        // Month is 0-indexed in the frontend; the year defaults to the current one
+        return getTransactionsInRange(authHeader, CreatedAtRange.resolve(month, year, null, null), page, size);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TransactionDTO> getTransactionsByMonth(String authHeader, int month, int page, int size) {
+    public Page<TransactionDTO> getTransactionsInRange(String authHeader, CreatedAtRange range, int page, int size) {
         // 1. Extract userId from JWT
         String token = authHeader.replace("Bearer ", "");
         Long userId = jwtService.getUserIdFromToken(token);
 
-        // Get current year - typically we'd want transactions from the current year
-        int currentYear = Year.now().getValue();
-
         // 2. Build pageable: sort by createdAt desc
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
 
-        // 3. Query repository with month filter (month is 0-indexed in frontend, but 1-indexed in database)
-        Page<Transaction> txPage = transactionRepository.findAllByUserIdAndMonth(
-                userId,
-                month + 1, // Convert 0-indexed month to 1-indexed for database query
-                currentYear,
-                pageable
-        );
+        // 3. Query repository with a half-open created_at range
+        return transactionRepository.findDtoPageByUserIdInRange(userId, range.from(), range.to(), pageable);
+    }
+
+    /**
+     * Cursor-paged variant of {@link #getAllTransactions} / {@link #getTransactionsByMonth}: seeks
+     * past the row encoded in {@code cursor} (first page when blank) instead of skipping rows, and
+     * only counts when {@code includeCount} is set.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> getTransactionsAfter(String authHeader, CreatedAtRange range, String cursor, int size, boolean includeCount) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        Long userId = jwtService.getUserIdFromToken(authHeader.replace("Bearer ", ""));
+        TransactionCursor after = (cursor == null || cursor.isBlank()) ? null : TransactionCursor.decode(cursor);
+        LocalDateTime afterCreatedAt = after != null ? after.createdAt() : null;
+        Long afterId = after != null ? after.id() : null;
+
+        // One extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TransactionDTO> rows;
+        Long total = null;
+        if (range == null) {
+            rows = transactionRepository.findKeysetPage(userId, afterCreatedAt, afterId, limit);
+            if (includeCount) {
+                total = transactionRepository.countByUserId(userId);
+            }
+        } else {
+            rows = transactionRepository.findKeysetPageInRange(userId, range.from(), range.to(), afterCreatedAt, afterId, limit);
+            if (includeCount) {
+                total = transactionRepository.countByUserIdInRange(userId, range.from(), range.to());
+            }
+        }
 
-        // 4. Map to DTO
-        return txPage.map(this::mapToDTO);
+        boolean hasNext = rows.size() > size;
+        List<TransactionDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TransactionCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total);
     }
 
-    // Helper method to map Transaction to TransactionDTO
-    private TransactionDTO mapToDTO(Transaction tx) {
-        TransactionDTO dto = new TransactionDTO();
-        dto.setId(tx.getId());
-        dto.setAmount(tx.getAmount());
-        dto.setPaymentMode(tx.getPaymentMode());
-        dto.setMerchantId(tx.getMerchantId());
-        dto.setMerchantName(tx.getMerchantName());
-        dto.setTransactionType(tx.getTransactionType());
-        dto.setUserId(tx.getUser().getId());
-        dto.setCategoryId(tx.getCategory().getId());
-        dto.setCategoryName(tx.getCategory().getName());
-        dto.setCarbonEmitted(tx.getCarbonEmission());
-        dto.setCreatedAt(tx.getCreatedAt());
-        dto.setIsGlobal(tx.getIsGloballyMapped());
-        return dto;
+    /**
+     * Cursor-paged transactions matching {@code filter}. Filters with only payment mode, type or
+     * amount criteria may have to scan a user's whole history to fill a page, so accounts above
+     * {@code filterScanLimit} transactions must add a category, merchant or date criterion.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDTO> filterTransactions(String authHeader, TransactionFilter filter, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new BadRequestException("minAmount must not be greater than maxAmount");
+        }
+        Long userId = jwtService.getUserIdFromToken(authHeader.replace("Bearer ", ""));
+        // Bounded probe rather than a full count: only whether the user is above the limit matters
+        if (!filter.hasIndexedCriterion()
+                && transactionRepository.countByUserIdUpTo(userId, filterScanLimit + 1) > filterScanLimit) {
+            throw new BadRequestException("Too many transactions to filter by payment mode, type or amount alone; "
+                    + "add a category, merchant or date range");
+        }
+
+        TransactionCursor after = (cursor == null || cursor.isBlank()) ? null : TransactionCursor.decode(cursor);
+        List<TransactionDTO> rows = transactionRepository.findFilteredKeysetPage(
+                TransactionSpecifications.matching(userId, filter),
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TransactionCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext, null);
     }
+
     @Transactional
     @Override
     public void overrideTransactionCategory(CategoryApplyRequest req, String authHeader) {
-        Transaction txn = transactionRepository.findById(req.getTransactionId())
+        Long userId = jwtService.getUserIdFromToken(authHeader.replace("Bearer ", ""));
+        // Another user's transaction is reported as missing, and its summaries are left alone
+        Transaction txn = transactionRepository.findByIdAndUserIdForUpdate(req.getTransactionId(), userId)
                 .orElseThrow(() -> new IllegalArgumentException("Transaction not found"));
-        Category cat = categoryRepository
-                .findByName(req.getNewCategoryName().toUpperCase())
+        Category cat = categoryRegistry
+                .findByName(req.getNewCategoryName(), userId)
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+
+        // Move the transaction's share of the summaries along with it
+        if (txn.getTransactionType() == TransactionType.DEBIT && txn.getAmount() != null && txn.getCategory() != null) {
+            BigDecimal emission = Boolean.TRUE.equals(txn.getIsGloballyMapped()) && txn.getCarbonEmission() != null
+                    ? txn.getCarbonEmission()
+                    : BigDecimal.ZERO;
+            monthlyCategorySummaryService.moveToCategory(userId,
+                    List.of(DayCategoryTotals.of(txn.getCreatedAt().toLocalDate(), txn.getCategory().getId(), txn.getAmount(), emission)),
+                    cat.getId());
+        }
+
         txn.setCategory(cat);
         txn.setIsGloballyMapped(false);
         txn.setCarbonEmission(BigDecimal.ZERO);
@@ -339,7 +465,9 @@ public class TransactionServiceImpl implements TransactionService {
                     c.setIsGlobal(true);
                     c.setCreatedAt(LocalDateTime.now());
                     c.setEmissionFactor(BigDecimal.ZERO);
-                    return categoryRepository.save(c);
+                    Category saved = categoryRepository.save(c);
+                    categoryRegistry.refreshUser(userId);
+                    return saved;
                 });
 
         MerchantCategoryMapping mapping = new MerchantCategoryMapping();
@@ -350,19 +478,14 @@ public class TransactionServiceImpl implements TransactionService {
         mapping.setCreatedAt(LocalDateTime.now());
         mappingRepository.save(mapping);
 
-        int updatedCount = transactionRepository.bulkUpdateCategory(
-                cat, userId, req.getMerchantName()
-        );
-
-        List<Transaction> transactions = transactionRepository.findByUserIdAndMerchantNameAndTransactionType(
-                userId, req.getMerchantName(), TransactionType.DEBIT);
-
-        for (Transaction tx : transactions) {
-            tx.setCarbonEmission(BigDecimal.ZERO);
-            tx.setIsGloballyMapped(false);
-        }
+        // Totals per (day, old category) first, then one UPDATE; the summaries get the difference.
+        // Stored merchant names are upper case, so a plain equality can use the merchant index
+        String merchantName = req.getMerchantName().trim().toUpperCase();
+        List<DayCategoryTotals> moved = transactionRepository.findMerchantTotalsForUpdate(
+                userId, merchantName, TransactionType.DEBIT.ordinal());
+        int updatedCount = transactionRepository.recategorizeMerchant(cat, userId, merchantName);
+        monthlyCategorySummaryService.moveToCategory(userId, moved, cat.getId());
 
-        transactionRepository.saveAll(transactions);
         logger.info("Updated {} transactions with new category '{}'", updatedCount, req.getNewCategoryName());
     }
 
@@ -0,0 +1,61 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Fills yearly_category_summaries from the monthly rows the first time the application starts with
+ * the new table, after {@link SummarySchemaMigration} has given every monthly row its month_key.
+ * Runs before the web server accepts requests, so no live write can land in the table first.
+ *
+ * Completion is recorded in completed_migrations together with the rows, in one transaction.
+ * Rows already in the table are replaced, so a table that a write reached before this ever ran
+ * (then skipped as "not empty") is rebuilt in full once.
+ */
+@Component
+public class YearlySummaryBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(YearlySummaryBackfill.class);
+
+    private static final String MIGRATION_NAME = "yearly-category-summaries";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private final SummarySchemaMigration schemaMigration;
+
+    public YearlySummaryBackfill(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 MonthlyCategorySummaryWriter summaryWriter, SummarySchemaMigration schemaMigration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.summaryWriter = summaryWriter;
+        this.schemaMigration = schemaMigration;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer done = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM completed_migrations WHERE name = ?", Integer.class, MIGRATION_NAME);
+        if (done != null && done > 0) {
+            return;
+        }
+        schemaMigration.migrate();
+
+        Integer written = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM yearly_category_summaries");
+            int rows = summaryWriter.recomputeAllYears();
+            jdbcTemplate.update("INSERT INTO completed_migrations (name, completed_at) VALUES (?, ?)",
+                    MIGRATION_NAME, Timestamp.valueOf(LocalDateTime.now()));
+            return rows;
+        });
+        logger.info("Backfilled {} yearly summaries from monthly summaries", written);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.DTO.ImportJobResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface ImportJobService {
+    ImportJobResponse submitImport(MultipartFile csvFile, String authHeader) throws IOException;
+    ImportJobResponse getImportJob(Long jobId, String authHeader);
+    Resource getRejectsFile(Long jobId, String authHeader);
+}
@@ -1,16 +1,24 @@
 package com.example.wealthverse.Service;
 
+import com.example.wealthverse.DTO.DailySeriesResponse;
+import com.example.wealthverse.DTO.DayCategoryTotals;
 import com.example.wealthverse.DTO.MonthlySummaryResponse;
 import com.example.wealthverse.DTO.MultiMonthSummaryResponse;
+import com.example.wealthverse.DTO.RangeSummaryResponse;
 import com.example.wealthverse.Model.MonthlyCategorySummary;
 import com.example.wealthverse.Model.Transaction;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 
 public interface MonthlyCategorySummaryService {
     void resetMonthSummaries(Long userId, YearMonth yearMonth);
     void updateMonthlySummaries(List<Transaction> transactions);
+    void updateSummariesForTransaction(Transaction transaction);
+    void moveToCategory(Long userId, List<DayCategoryTotals> moved, Long newCategoryId);
     MonthlySummaryResponse getMonthlySummaryForUser(Long userId, YearMonth yearMonth);
     MultiMonthSummaryResponse getMultiMonthSummaryForUser(Long userId, YearMonth currentYearMonth, int numberOfMonths);
+    RangeSummaryResponse getRangeSummaryForUser(Long userId, YearMonth from, YearMonth to);
+    DailySeriesResponse getDailySeriesForUser(Long userId, LocalDate from, LocalDate to, Long categoryId);
 }
@@ -0,0 +1,12 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.DTO.SummaryRebuildJob;
+import com.example.wealthverse.DTO.SummaryRebuildResult;
+
+import java.time.YearMonth;
+
+public interface SummaryRebuildService {
+    SummaryRebuildResult rebuildForUser(Long userId, YearMonth from, YearMonth to);
+    SummaryRebuildJob startRebuildForAllUsers(YearMonth from, YearMonth to);
+    SummaryRebuildJob getAllUsersRebuild();
+}
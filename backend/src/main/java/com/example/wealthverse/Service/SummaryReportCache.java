@@ -0,0 +1,145 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.DTO.MonthlySummaryResponse;
+import com.example.wealthverse.DTO.MultiMonthSummaryResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting read-through cache of the monthly and multi-month report responses.
+ *
+ * Every entry is keyed with a generation of its user. Writers invalidate the (user, month) pairs
+ * they changed: the monthly entry of that month directly, and every multi-month entry of the user
+ * by moving the user's ranges to a new generation; a rebuild moves both generations. Nothing
+ * sweeps the cache. A load that read the database before the write committed is cached under the
+ * old generation, which no reader asks for again; a sweep over the cache would not see a load still
+ * in flight. Inside a transaction the invalidation runs after commit, so a concurrent read cannot
+ * put the pre-commit totals back. Hit, miss and eviction counts are published as {@code cache.*}
+ * metrics tagged {@code cache=reports.monthly|reports.multi-month}.
+ */
+@Component
+public class SummaryReportCache {
+
+    private final Cache<MonthKey, MonthlySummaryResponse> monthly;
+    private final Cache<RangeKey, MultiMonthSummaryResponse> multiMonth;
+    // Generations of a user's monthly entries (moved on invalidateUser) and multi-month entries (moved
+    // on every write). A user without a recorded generation (never seen, or evicted) gets a new one,
+    // never a reused one
+    private final Cache<Long, Long> monthGenerations;
+    private final Cache<Long, Long> rangeGenerations;
+    private final AtomicLong lastGeneration = new AtomicLong();
+
+    public SummaryReportCache(
+            MeterRegistry meterRegistry,
+            @Value("${wealthverse.reports.cache.max-size:10000}") long maxSize,
+            @Value("${wealthverse.reports.cache.ttl:10m}") Duration ttl) {
+        this.monthly = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.multiMonth = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.monthGenerations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.rangeGenerations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, monthly, "reports.monthly");
+        CaffeineCacheMetrics.monitor(meterRegistry, multiMonth, "reports.multi-month");
+    }
+
+    public MonthlySummaryResponse getMonthly(Long userId, YearMonth yearMonth, Supplier<MonthlySummaryResponse> loader) {
+        return monthly.get(new MonthKey(userId, yearMonth, generation(monthGenerations, userId)), key -> loader.get());
+    }
+
+    public MultiMonthSummaryResponse getMultiMonth(Long userId, YearMonth endYearMonth, int numberOfMonths,
+                                                   Supplier<MultiMonthSummaryResponse> loader) {
+        return multiMonth.get(new RangeKey(userId, endYearMonth.minusMonths(numberOfMonths - 1), endYearMonth,
+                generation(rangeGenerations, userId)), key -> loader.get());
+    }
+
+    public void invalidate(Long userId, YearMonth yearMonth) {
+        invalidate(Set.of(new MonthEntry(userId, yearMonth)));
+    }
+
+    /**
+     * Invalidates the given (user, month) pairs, after commit when called inside a transaction.
+     */
+    public void invalidate(Collection<MonthEntry> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<MonthEntry> entries = new HashSet<>(changed);
+        runAfterCommit(() -> {
+            Set<Long> users = new HashSet<>();
+            for (MonthEntry entry : entries) {
+                // Blocks until a load of this key in flight has finished, then drops it
+                monthly.invalidate(new MonthKey(entry.userId(), entry.yearMonth(),
+                        generation(monthGenerations, entry.userId())));
+                users.add(entry.userId());
+            }
+            users.forEach(userId -> nextGeneration(rangeGenerations, userId));
+        });
+    }
+
+    /**
+     * Invalidates everything cached for a user, e.g. after a rebuild.
+     */
+    public void invalidateUser(Long userId) {
+        runAfterCommit(() -> {
+            nextGeneration(monthGenerations, userId);
+            nextGeneration(rangeGenerations, userId);
+        });
+    }
+
+    private long generation(Cache<Long, Long> generations, Long userId) {
+        return generations.get(userId, id -> lastGeneration.incrementAndGet());
+    }
+
+    private void nextGeneration(Cache<Long, Long> generations, Long userId) {
+        generations.put(userId, lastGeneration.incrementAndGet());
+    }
+
+    private void runAfterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Also after a rollback: dropping a valid entry only costs one reload
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    public record MonthEntry(Long userId, YearMonth yearMonth) {
+    }
+
+    private record MonthKey(Long userId, YearMonth yearMonth, long generation) {
+    }
+
+    private record RangeKey(Long userId, YearMonth from, YearMonth to, long generation) {
+    }
+}
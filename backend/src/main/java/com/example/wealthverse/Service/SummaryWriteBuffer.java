@@ -0,0 +1,338 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.DTO.DailySummaryKey;
+import com.example.wealthverse.DTO.SummaryDelta;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind for summary deltas of single transaction adds
+ * ({@code wealthverse.summaries.write-behind.enabled}).
+ *
+ * Committed deltas are coalesced per (user, day, category) in memory and written with the usual
+ * batched upserts every {@code flush-interval}, as soon as {@code max-pending-keys} keys are
+ * pending, and on shutdown. Report reads merge {@link #pendingFor} into what they load, so users
+ * see their own writes before the flush. Reads run through {@link #read}, and a flush commits,
+ * invalidates the reports and drops its in-flight deltas while no read runs, so a read counts
+ * flushed deltas either from the tables or from the buffer, never from both.
+ *
+ * While a user's summaries are rebuilt ({@link #beginRebuild}), their adds are not buffered: the
+ * caller writes them directly, where the rebuild's locks order them. Beginning a rebuild waits for
+ * the user's buffered adds that have not committed yet and flushes them, so nothing the rebuild
+ * counts is added on top of it later.
+ *
+ * The price is durability of the summaries, not of the transactions: if the process dies, up to
+ * one flush interval (or {@code max-pending-keys} keys) of deltas is lost and the affected months
+ * are too low until they are rebuilt through the admin summary rebuild.
+ */
+@Component
+public class SummaryWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryWriteBuffer.class);
+
+    private final MonthlyCategorySummaryWriter summaryWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final SummaryReportCache reportCache;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPendingKeys;
+
+    // Values are never mutated once in a map, so readers can use them without locking
+    private final ConcurrentHashMap<DailySummaryKey, SummaryDelta> pending = new ConcurrentHashMap<>();
+    // Deltas of the flush in progress; still merged into reads until they are committed
+    private volatile Map<DailySummaryKey, SummaryDelta> flushing = Collections.emptyMap();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Held by reads; a flush takes the write lock from just before its commit until it is visible
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    // Users being rebuilt, and users with buffered adds whose transaction has not completed yet
+    private final Object rebuildMonitor = new Object();
+    private final Map<Long, Integer> rebuildingUsers = new HashMap<>();
+    private final Map<Long, Integer> uncommittedAdds = new HashMap<>();
+    private ScheduledExecutorService flusher;
+
+    public SummaryWriteBuffer(
+            MonthlyCategorySummaryWriter summaryWriter,
+            TransactionTemplate transactionTemplate,
+            SummaryReportCache reportCache,
+            MeterRegistry meterRegistry,
+            @Value("${wealthverse.summaries.write-behind.enabled:false}") boolean enabled,
+            @Value("${wealthverse.summaries.write-behind.flush-interval:2s}") Duration flushInterval,
+            @Value("${wealthverse.summaries.write-behind.max-pending-keys:5000}") int maxPendingKeys) {
+        this.summaryWriter = summaryWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.reportCache = reportCache;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPendingKeys = maxPendingKeys;
+
+        Gauge.builder("wealthverse.summaries.write-behind.pending", pending, Map::size)
+                .description("Summary keys with deltas waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "summary-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.warn("Summary write-behind enabled: up to {} (or {} keys) of summary updates can be lost on a crash",
+                flushInterval, maxPendingKeys);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushInterval.toMillis() + 10_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers the deltas of one of {@code userId}'s transactions once the current transaction
+     * commits (right away outside a transaction), so deltas of rolled back transactions never reach
+     * the summaries. Returns false, buffering nothing, while the user's summaries are being rebuilt;
+     * the caller then has to write the deltas itself.
+     */
+    public boolean add(Long userId, Map<DailySummaryKey, SummaryDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        Map<DailySummaryKey, SummaryDelta> copy = new HashMap<>(deltas.size());
+        deltas.forEach((key, delta) -> copy.put(key, new SummaryDelta().plus(delta)));
+
+        synchronized (rebuildMonitor) {
+            if (rebuildingUsers.containsKey(userId)) {
+                return false;
+            }
+            uncommittedAdds.merge(userId, 1, Integer::sum);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            merge(copy);
+                        }
+                    } finally {
+                        completeAdd(userId);
+                    }
+                }
+            });
+        } else {
+            try {
+                merge(copy);
+            } finally {
+                completeAdd(userId);
+            }
+        }
+        return true;
+    }
+
+    private void completeAdd(Long userId) {
+        synchronized (rebuildMonitor) {
+            uncommittedAdds.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+            rebuildMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Stops buffering the user's adds, waits for their buffered adds still in a transaction, and
+     * flushes. Call before a rebuild of the user's summaries takes its snapshot, and
+     * {@link #endRebuild} once the rebuild has committed or failed.
+     */
+    public void beginRebuild(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildMonitor) {
+            rebuildingUsers.merge(userId, 1, Integer::sum);
+            try {
+                while (uncommittedAdds.containsKey(userId)) {
+                    rebuildMonitor.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                endRebuildLocked(userId);
+                throw new IllegalStateException("Interrupted while waiting for buffered summary updates", e);
+            }
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            endRebuild(userId);
+            throw e;
+        }
+        // A failed flush keeps the deltas; the rebuild must not count them a second time
+        if (pending.keySet().stream().anyMatch(key -> key.userId().equals(userId))) {
+            endRebuild(userId);
+            throw new IllegalStateException("Buffered summary updates of user " + userId + " could not be flushed");
+        }
+    }
+
+    public void endRebuild(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildMonitor) {
+            endRebuildLocked(userId);
+        }
+    }
+
+    private void endRebuildLocked(Long userId) {
+        rebuildingUsers.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Runs a report read that combines stored summaries with {@link #pendingFor}; no flush becomes
+     * visible in the middle of it.
+     */
+    public <T> T read(Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        flushLock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    private void merge(Map<DailySummaryKey, SummaryDelta> deltas) {
+        deltas.forEach((key, delta) -> pending.merge(key, delta, SummaryDelta::plus));
+        if (pending.size() >= maxPendingKeys && flusher != null && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Deltas of {@code userId} between {@code from} and {@code to} (inclusive) that are not in the
+     * summary tables yet.
+     */
+    public Map<DailySummaryKey, SummaryDelta> pendingFor(Long userId, LocalDate from, LocalDate to) {
+        Map<DailySummaryKey, SummaryDelta> inFlight = flushing;
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<DailySummaryKey, SummaryDelta> result = new HashMap<>();
+        for (Map<DailySummaryKey, SummaryDelta> source : List.of(inFlight, pending)) {
+            source.forEach((key, delta) -> {
+                if (key.userId().equals(userId) && !key.date().isBefore(from) && !key.date().isAfter(to)) {
+                    result.merge(key, delta, SummaryDelta::plus);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Writes everything pending in one transaction. On failure the deltas go back into the buffer
+     * and are retried with the next flush. From just before the commit until the reports are
+     * invalidated and the in-flight deltas dropped, no {@link #read} runs.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Published before the deltas move over, so reads keep seeing them while they are written
+        Map<DailySummaryKey, SummaryDelta> batch = new ConcurrentHashMap<>();
+        flushing = batch;
+        for (DailySummaryKey key : pending.keySet()) {
+            SummaryDelta delta = pending.remove(key);
+            if (delta != null) {
+                batch.put(key, delta);
+            }
+        }
+
+        boolean[] locked = {false};
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    summaryWriter.addDeltas(batch);
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                            flushLock.writeLock().lock();
+                            locked[0] = true;
+                        }
+                    });
+                });
+            } catch (RuntimeException e) {
+                logger.error("Flushing {} buffered summary deltas failed, keeping them for the next attempt: {}",
+                        batch.size(), e.getMessage(), e);
+                batch.forEach((key, delta) -> pending.merge(key, delta, SummaryDelta::plus));
+                flushing = Collections.emptyMap();
+                return;
+            }
+
+            Set<SummaryReportCache.MonthEntry> months = new HashSet<>();
+            for (DailySummaryKey key : batch.keySet()) {
+                months.add(new SummaryReportCache.MonthEntry(key.userId(), YearMonth.from(key.date())));
+            }
+            reportCache.invalidate(months);
+            flushing = Collections.emptyMap();
+        } finally {
+            if (locked[0]) {
+                flushLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Summary flush failed: {}", e.getMessage(), e);
+        }
+    }
+}
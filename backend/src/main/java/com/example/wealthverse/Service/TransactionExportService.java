@@ -0,0 +1,14 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.Enums.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface TransactionExportService {
+
+    /**
+     * Reserves an export slot for the user (or throws TooManyRequestsException) and returns the
+     * body that writes their transactions in {@code range} (all of them when null), oldest first.
+     */
+    StreamingResponseBody exportTransactions(String authHeader, ExportFormat format, CreatedAtRange range, boolean gzip);
+}
@@ -0,0 +1,51 @@
+package com.example.wealthverse.Service;
+
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Identity of a transaction for duplicate detection: SHA-256 (hex) of user, merchant id, amount,
+ * timestamp and type. Values are normalised to what the transactions table stores (amount at
+ * scale 2, timestamp at microseconds), so a fingerprint computed before an insert matches the one
+ * computed from the stored row.
+ */
+public final class TransactionFingerprint {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private TransactionFingerprint() {
+    }
+
+    public static String of(Transaction transaction) {
+        return compute(transaction.getUser().getId(), transaction.getMerchantId(), transaction.getAmount(),
+                transaction.getCreatedAt(), transaction.getTransactionType());
+    }
+
+    public static String compute(Long userId, String merchantId, BigDecimal amount,
+                                 LocalDateTime createdAt, TransactionType transactionType) {
+        String key = userId
+                + "|" + merchantId
+                + "|" + amount.setScale(2, RoundingMode.HALF_UP).toPlainString()
+                + "|" + createdAt.truncatedTo(ChronoUnit.MICROS).format(TIMESTAMP_FORMAT)
+                + "|" + transactionType.name();
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,18 +2,27 @@ package com.example.wealthverse.Service;
 
 import com.example.wealthverse.DTO.AddTransactionRequest;
 import com.example.wealthverse.DTO.CategoryApplyRequest;
+import com.example.wealthverse.DTO.CreatedAtRange;
+import com.example.wealthverse.DTO.CursorPage;
+import com.example.wealthverse.DTO.ImportResult;
 import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.DTO.TransactionFilter;
 import com.opencsv.exceptions.CsvException;
-import io.jsonwebtoken.io.IOException;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
 public interface TransactionService {
 
-    void importFromCsv(MultipartFile csvFile, String authHeader) throws IOException, CsvException, java.io.IOException;
+    ImportResult importFromCsv(InputStream csvStream, Long userId, ImportResult result, Consumer<ImportResult> progressListener) throws IOException, CsvException;
     void addTransaction(AddTransactionRequest request, String authHeader);
     Page<TransactionDTO> getAllTransactions(String authHeader, int page, int size);
     void overrideTransactionCategory(CategoryApplyRequest req, String authHeader);
-    Page<TransactionDTO> getTransactionsByMonth(String authHeader, int month, int page, int size);
+    Page<TransactionDTO> getTransactionsByMonth(String authHeader, int month, Integer year, int page, int size);
+    Page<TransactionDTO> getTransactionsInRange(String authHeader, CreatedAtRange range, int page, int size);
+    CursorPage<TransactionDTO> getTransactionsAfter(String authHeader, CreatedAtRange range, String cursor, int size, boolean includeCount);
+    CursorPage<TransactionDTO> filterTransactions(String authHeader, TransactionFilter filter, String cursor, int size);
     void applyCategoryToAllTransactions(CategoryApplyRequest req, String authHeader);}
 
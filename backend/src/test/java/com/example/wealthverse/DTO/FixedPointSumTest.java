@@ -0,0 +1,166 @@
+package com.example.wealthverse.DTO;
+
+import com.example.wealthverse.Model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fixed-point sums must be indistinguishable from BigDecimal addition: same value and same scale
+ * ({@code equals}, not {@code compareTo}).
+ */
+class FixedPointSumTest {
+
+    private static final Random RANDOM = new Random(42);
+
+    @Test
+    void emptySumIsZero() {
+        assertEquals(BigDecimal.ZERO, new FixedPointSum(2).toBigDecimal());
+    }
+
+    @Test
+    void matchesBigDecimalForAmountsAndEmissions() {
+        for (int run = 0; run < 1_000; run++) {
+            assertSameAsBigDecimal(2, randomValues(RANDOM.nextInt(50), 2));
+            assertSameAsBigDecimal(5, randomValues(RANDOM.nextInt(50), 5));
+        }
+    }
+
+    @Test
+    void matchesBigDecimalForMixedAndNegativeScales() {
+        assertSameAsBigDecimal(2, List.of(new BigDecimal("100"), new BigDecimal("0.5"), new BigDecimal("-20.25")));
+        assertSameAsBigDecimal(2, List.of(new BigDecimal("1E+3"), new BigDecimal("7")));
+        assertSameAsBigDecimal(2, List.of(new BigDecimal("0.00"), new BigDecimal("0")));
+    }
+
+    @Test
+    void moreDecimalsThanTheFixedScaleStayExact() {
+        assertSameAsBigDecimal(2, List.of(new BigDecimal("10.25"), new BigDecimal("0.125"), new BigDecimal("3")));
+        assertSameAsBigDecimal(5, List.of(new BigDecimal("1.12345"), new BigDecimal("0.0000001")));
+    }
+
+    @Test
+    void overflowFallsBackToBigDecimal() {
+        BigDecimal nearLimit = BigDecimal.valueOf(Long.MAX_VALUE / 2, 2);
+        assertSameAsBigDecimal(2, List.of(nearLimit, nearLimit, nearLimit, new BigDecimal("0.01")));
+        assertSameAsBigDecimal(2, List.of(new BigDecimal("123456789012345678901234567890.12"), new BigDecimal("1.10")));
+        assertSameAsBigDecimal(5, List.of(new BigDecimal("-99999999999999.99999"), new BigDecimal("-99999999999999.99999")));
+    }
+
+    @Test
+    void addingSumsMatchesAddingTheirValues() {
+        for (int run = 0; run < 1_000; run++) {
+            List<BigDecimal> left = randomValues(RANDOM.nextInt(20), 2);
+            List<BigDecimal> right = randomValues(RANDOM.nextInt(20), 2);
+
+            FixedPointSum sum = sumOf(2, left).add(sumOf(2, right));
+            List<BigDecimal> all = new ArrayList<>(left);
+            all.addAll(right);
+            assertEquals(bigDecimalSum(all), sum.toBigDecimal());
+        }
+
+        FixedPointSum large = sumOf(2, List.of(BigDecimal.valueOf(Long.MAX_VALUE, 2)));
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).add(BigDecimal.valueOf(Long.MAX_VALUE, 2)),
+                large.copy().add(large).toBigDecimal());
+    }
+
+    @Test
+    void summaryDeltaMatchesBigDecimal() {
+        List<BigDecimal> amounts = randomValues(200, 2);
+        List<BigDecimal> emissions = randomValues(200, 5);
+
+        SummaryDelta first = new SummaryDelta();
+        SummaryDelta second = new SummaryDelta();
+        for (int i = 0; i < amounts.size(); i++) {
+            (i % 2 == 0 ? first : second).add(amounts.get(i), emissions.get(i));
+        }
+        SummaryDelta total = first.plus(second);
+
+        assertEquals(bigDecimalSum(amounts), total.getAmount());
+        assertEquals(bigDecimalSum(emissions), total.getEmission());
+    }
+
+    @Test
+    void transactionEmissionsStayOnTheFastPath() {
+        List<BigDecimal> amounts = new ArrayList<>();
+        List<BigDecimal> emissions = new ArrayList<>();
+        SummaryDelta delta = new SummaryDelta();
+        FixedPointSum unrounded = new FixedPointSum(5);
+        for (int i = 0; i < 500; i++) {
+            // Amounts have the scale of transactions.amount
+            BigDecimal amount = BigDecimal.valueOf(RANDOM.nextInt(10_000_000), 2);
+            amounts.add(amount);
+            // Emission factors have the scale of categories.emission_factor
+            BigDecimal factor = BigDecimal.valueOf(RANDOM.nextInt(1_000_000), 5);
+            BigDecimal emission = Transaction.carbonEmissionOf(amount, factor);
+            emissions.add(emission);
+            delta.add(amount, emission);
+            unrounded.add(amount.multiply(factor));
+        }
+
+        assertTrue(delta.isFixedPoint(), "amount x factor products must not need BigDecimal");
+        assertEquals(bigDecimalSum(amounts), delta.getAmount());
+        assertEquals(bigDecimalSum(emissions), delta.getEmission());
+        // The raw products have scale 7, which is what the rounding avoids
+        assertFalse(unrounded.isFixedPoint());
+    }
+
+    @Test
+    void reportTotalsMatchBigDecimal() {
+        List<CategorySummaryResponse> categories = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            categories.add(new CategorySummaryResponse((long) i, "Category " + i,
+                    randomValue(2), randomValue(2).abs(), null));
+        }
+        MonthlySummaryResponse month = new MonthlySummaryResponse("2024-01", categories, null, null);
+        month.calculateTotals();
+
+        assertEquals(bigDecimalSum(categories.stream().map(CategorySummaryResponse::getTotalAmount).toList()),
+                month.getTotalSpending());
+        assertEquals(bigDecimalSum(categories.stream().map(CategorySummaryResponse::getTotalEmission).toList()),
+                month.getTotalEmission());
+
+        MultiMonthSummaryResponse months = new MultiMonthSummaryResponse();
+        months.setMonthlySummaries(List.of(month, month, month));
+        months.calculateTotals();
+        assertEquals(bigDecimalSum(List.of(month.getTotalSpending(), month.getTotalSpending(), month.getTotalSpending())),
+                months.getTotalSpendingAllMonths());
+        assertEquals(bigDecimalSum(List.of(month.getTotalEmission(), month.getTotalEmission(), month.getTotalEmission())),
+                months.getTotalEmissionAllMonths());
+    }
+
+    private static void assertSameAsBigDecimal(int scale, List<BigDecimal> values) {
+        assertEquals(bigDecimalSum(values), sumOf(scale, values).toBigDecimal(), "sum of " + values);
+    }
+
+    private static FixedPointSum sumOf(int scale, List<BigDecimal> values) {
+        FixedPointSum sum = new FixedPointSum(scale);
+        for (BigDecimal value : values) {
+            sum.add(value);
+        }
+        return sum;
+    }
+
+    private static BigDecimal bigDecimalSum(List<BigDecimal> values) {
+        return values.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static List<BigDecimal> randomValues(int count, int maxScale) {
+        List<BigDecimal> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(randomValue(maxScale));
+        }
+        return values;
+    }
+
+    private static BigDecimal randomValue(int maxScale) {
+        return BigDecimal.valueOf(RANDOM.nextLong() % 10_000_000_000L, RANDOM.nextInt(maxScale + 1));
+    }
+}
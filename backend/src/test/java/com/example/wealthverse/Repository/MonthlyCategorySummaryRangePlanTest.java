@@ -0,0 +1,83 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.SummaryKey;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN check for the multi-month report: the month_key range must be resolved through the
+ * (user_id, month_key, category_id) key instead of reading every row of the user (or the table).
+ * The previous {@code CAST(month_year AS string) BETWEEN} form is explained alongside for comparison.
+ */
+class MonthlyCategorySummaryRangePlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyCategorySummaryRangePlanTest.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:summary-plan-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE monthly_category_summaries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, " +
+                "month_year VARCHAR(7) NOT NULL, " +
+                "month_key INT, " +
+                "category_id BIGINT NOT NULL, " +
+                "total_amount DECIMAL(12, 2) NOT NULL, " +
+                "total_emission DECIMAL(15, 5) NOT NULL, " +
+                "last_aggregated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_mcs_user_monthkey_category UNIQUE (user_id, month_key, category_id))");
+        jdbcTemplate.execute("CREATE INDEX idx_mcs_category ON monthly_category_summaries (category_id)");
+
+        // 50 users x 36 months x 10 categories, so the planner has real statistics to choose from
+        List<Object[]> rows = new ArrayList<>();
+        YearMonth first = YearMonth.of(2022, 1);
+        for (long userId = 1; userId <= 50; userId++) {
+            for (int month = 0; month < 36; month++) {
+                YearMonth yearMonth = first.plusMonths(month);
+                for (long categoryId = 1; categoryId <= 10; categoryId++) {
+                    rows.add(new Object[]{userId, yearMonth.toString(), SummaryKey.monthKey(yearMonth), categoryId});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO monthly_category_summaries " +
+                "(user_id, month_year, month_key, category_id, total_amount, total_emission, last_aggregated_at) " +
+                "VALUES (?, ?, ?, ?, 1.00, 0.50000, CURRENT_TIMESTAMP)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void monthRangeIsAnIndexRangeScan() {
+        String plan = explain("SELECT * FROM monthly_category_summaries " +
+                        "WHERE user_id = ? AND month_key BETWEEN ? AND ? ORDER BY month_key",
+                7L, SummaryKey.monthKey(YearMonth.of(2023, 1)), SummaryKey.monthKey(YearMonth.of(2023, 6)));
+        String legacyPlan = explain("SELECT * FROM monthly_category_summaries " +
+                        "WHERE user_id = ? AND CAST(month_year AS VARCHAR) BETWEEN ? AND ? ORDER BY month_year",
+                7L, "2023-01", "2023-06");
+        logger.info("month_key range plan:\n{}\nlegacy CAST range plan:\n{}", plan, legacyPlan);
+
+        String upperPlan = plan.toUpperCase(Locale.ROOT);
+        assertTrue(upperPlan.contains("UK_MCS_USER_MONTHKEY_CATEGORY"), plan);
+        assertTrue(upperPlan.contains("MONTH_KEY >="), "month_key bound is not part of the index condition: " + plan);
+        assertFalse(upperPlan.contains("TABLESCAN"), plan);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
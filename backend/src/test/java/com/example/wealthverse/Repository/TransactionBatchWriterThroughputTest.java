@@ -0,0 +1,119 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Category;
+import com.example.wealthverse.Model.Transaction;
+import com.example.wealthverse.Model.User;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Before/after throughput of persisting an import on an embedded database: one INSERT statement
+ * per row, which is what {@code saveAll} does with IDENTITY ids, against {@link TransactionBatchWriter}.
+ * The rates are logged; on H2 they show the per-statement overhead only, while on MySQL the
+ * batched path additionally saves a round trip per row through {@code rewriteBatchedStatements}.
+ */
+class TransactionBatchWriterThroughputTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionBatchWriterThroughputTest.class);
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 500;
+    private static final String SINGLE_INSERT_SQL =
+            "INSERT INTO transactions (amount, payment_mode, merchant_id, merchant_name, transaction_type, " +
+                    "user_id, category_id, is_globally_mapped, carbon_emission, created_at, fingerprint) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionBatchWriter batchWriter;
+    private List<Transaction> transactions;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch-insert-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE transactions (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "amount DECIMAL(12, 2), " +
+                "payment_mode INT, " +
+                "merchant_id VARCHAR(255), " +
+                "merchant_name VARCHAR(255), " +
+                "transaction_type INT, " +
+                "user_id BIGINT, " +
+                "category_id BIGINT, " +
+                "is_globally_mapped BOOLEAN, " +
+                "carbon_emission DECIMAL(17, 5), " +
+                "created_at TIMESTAMP, " +
+                "fingerprint VARCHAR(64))");
+
+        batchWriter = new TransactionBatchWriter(jdbcTemplate);
+        ReflectionTestUtils.setField(batchWriter, "batchSize", BATCH_SIZE);
+
+        User user = new User();
+        user.setId(1L);
+        Category category = new Category();
+        category.setId(2L);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction tx = new Transaction();
+            tx.setUser(user);
+            tx.setCategory(category);
+            tx.setAmount(BigDecimal.valueOf(100 + i % 10_000, 2));
+            tx.setPaymentMode(PaymentMode.UPI);
+            tx.setMerchantId("M" + (i % 500));
+            tx.setMerchantName("MERCHANT " + (i % 500));
+            tx.setTransactionType(TransactionType.DEBIT);
+            tx.setIsGloballyMapped(false);
+            tx.setCarbonEmission(BigDecimal.ZERO);
+            tx.setCreatedAt(start.plusMinutes(i));
+            transactions.add(tx);
+        }
+    }
+
+    @Test
+    void batchedInsertsAgainstSingleRowInserts() {
+        long singleStarted = System.nanoTime();
+        for (Transaction tx : transactions) {
+            jdbcTemplate.update(SINGLE_INSERT_SQL, tx.getAmount(), tx.getPaymentMode().ordinal(), tx.getMerchantId(),
+                    tx.getMerchantName(), tx.getTransactionType().ordinal(), tx.getUser().getId(),
+                    tx.getCategory().getId(), tx.getIsGloballyMapped(), tx.getCarbonEmission(),
+                    Timestamp.valueOf(tx.getCreatedAt()), tx.getFingerprint());
+        }
+        long singleNanos = System.nanoTime() - singleStarted;
+        assertEquals(ROWS, countAndClear());
+
+        long batchedStarted = System.nanoTime();
+        assertEquals(ROWS, batchWriter.insertAll(transactions));
+        long batchedNanos = System.nanoTime() - batchedStarted;
+        assertEquals(ROWS, countAndClear());
+
+        logger.info("{} rows: single-row inserts {} statements, {} rows/s; batched inserts {} batches, {} rows/s",
+                ROWS, ROWS, rowsPerSecond(singleNanos), (ROWS + BATCH_SIZE - 1) / BATCH_SIZE, rowsPerSecond(batchedNanos));
+    }
+
+    private int countAndClear() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class);
+        jdbcTemplate.execute("TRUNCATE TABLE transactions");
+        return count != null ? count : 0;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
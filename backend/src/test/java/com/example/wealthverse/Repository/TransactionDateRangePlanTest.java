@@ -0,0 +1,80 @@
+package com.example.wealthverse.Repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN check for month views: the half-open {@code created_at} range must bound the
+ * (user_id, created_at, id) index, while the previous MONTH()/YEAR() predicates can only use
+ * its user_id prefix. Both plans are logged.
+ */
+class TransactionDateRangePlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionDateRangePlanTest.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:transaction-plan-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE transactions (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "amount DECIMAL(12, 2), " +
+                "merchant_name VARCHAR(255), " +
+                "user_id BIGINT, " +
+                "category_id BIGINT, " +
+                "created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_user_created_id ON transactions (user_id, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_user_category_created_id ON transactions (user_id, category_id, created_at, id)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_user_merchant_created_id ON transactions (user_id, merchant_name, created_at, id)");
+
+        // 20 users with two years of transactions each
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        for (long userId = 1; userId <= 20; userId++) {
+            for (int i = 0; i < 2_000; i++) {
+                rows.add(new Object[]{userId, (long) (i % 10), "MERCHANT " + (i % 50),
+                        Timestamp.valueOf(start.plusHours(i * 9L))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (amount, user_id, category_id, merchant_name, created_at) " +
+                "VALUES (10.00, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void monthIsAnIndexRangeScan() {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        String plan = explain("SELECT * FROM transactions " +
+                        "WHERE user_id = ? AND created_at >= ? AND created_at < ? ORDER BY created_at DESC, id DESC",
+                3L, Timestamp.valueOf(from), Timestamp.valueOf(from.plusMonths(1)));
+        String legacyPlan = explain("SELECT * FROM transactions " +
+                        "WHERE user_id = ? AND MONTH(created_at) = ? AND YEAR(created_at) = ?",
+                3L, 3, 2024);
+        logger.info("created_at range plan:\n{}\nlegacy MONTH()/YEAR() plan:\n{}", plan, legacyPlan);
+
+        String upperPlan = plan.toUpperCase(Locale.ROOT);
+        assertTrue(upperPlan.contains("IDX_TRANSACTIONS_USER_CREATED_ID"), plan);
+        assertTrue(upperPlan.contains("CREATED_AT >="), "created_at bound is not part of the index condition: " + plan);
+        assertFalse(upperPlan.contains("TABLESCAN"), plan);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
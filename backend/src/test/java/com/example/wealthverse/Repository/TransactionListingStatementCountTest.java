@@ -0,0 +1,154 @@
+package com.example.wealthverse.Repository;
+
+import com.example.wealthverse.DTO.TransactionDTO;
+import com.example.wealthverse.DTO.TransactionFilter;
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Category;
+import com.example.wealthverse.Model.Transaction;
+import com.example.wealthverse.Model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A page of the transaction list has to cost a fixed number of statements, whatever its size: one
+ * select (plus one count for offset pages), no entity loads and no lazy category selects per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionListingStatementCountTest {
+
+    private static final int ROWS = 60;
+    private static final int PAGE_SIZE = 50;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Statements");
+        user.setEmail("statements@example.com");
+        user.setCreatedAt(START);
+        entityManager.persist(user);
+        userId = user.getId();
+
+        // Several categories, so a lazy load per distinct category would show up as extra selects
+        List<Category> categories = List.of(category("Food"), category("Travel"), category("Shopping"));
+        for (int i = 0; i < ROWS; i++) {
+            Transaction tx = new Transaction();
+            tx.setUser(user);
+            tx.setCategory(categories.get(i % categories.size()));
+            tx.setAmount(new BigDecimal("10.00"));
+            tx.setPaymentMode(PaymentMode.UPI);
+            tx.setMerchantId("M" + i);
+            // Stored upper case, like imports and single adds do
+            tx.setMerchantName("MERCHANT " + i);
+            tx.setTransactionType(TransactionType.DEBIT);
+            tx.setIsGloballyMapped(false);
+            tx.setCarbonEmission(BigDecimal.ZERO);
+            tx.setCreatedAt(START.plusHours(i));
+            entityManager.persist(tx);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void offsetPageIsOneSelectAndOneCount() {
+        Page<TransactionDTO> page = transactionRepository.findDtoPageByUserId(
+                userId, PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()));
+
+        assertPage(page.getContent());
+        assertEquals(ROWS, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void offsetPageInRangeIsOneSelectAndOneCount() {
+        Page<TransactionDTO> page = transactionRepository.findDtoPageByUserIdInRange(
+                userId, START, START.plusDays(30), PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").descending()));
+
+        assertPage(page.getContent());
+        assertEquals(ROWS, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void keysetPageIsOneSelect() {
+        List<TransactionDTO> rows = transactionRepository.findKeysetPage(userId, null, null, PageRequest.of(0, PAGE_SIZE));
+        assertPage(rows);
+
+        TransactionDTO last = rows.get(rows.size() - 1);
+        List<TransactionDTO> next = transactionRepository.findKeysetPageInRange(
+                userId, START, START.plusDays(30), last.getCreatedAt(), last.getId(), PageRequest.of(0, PAGE_SIZE));
+        assertEquals(ROWS - PAGE_SIZE, next.size());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void filteredPageIsOneSelect() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setMerchant("merchant 7");
+        filter.setPaymentMode(PaymentMode.UPI);
+        filter.setMinAmount(new BigDecimal("5"));
+        List<TransactionDTO> rows = transactionRepository.findFilteredKeysetPage(
+                TransactionSpecifications.matching(userId, filter), null, null, PAGE_SIZE);
+
+        assertEquals(1, rows.size());
+        assertEquals("MERCHANT 7", rows.get(0).getMerchantName());
+        assertTrue(rows.get(0).getCategoryName() != null, "category joined in");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private void assertPage(List<TransactionDTO> rows) {
+        assertEquals(PAGE_SIZE, rows.size());
+        assertEquals(START.plusHours(ROWS - 1), rows.get(0).getCreatedAt());
+        for (TransactionDTO dto : rows) {
+            assertEquals(userId, dto.getUserId());
+            assertTrue(dto.getCategoryName() != null && dto.getCategoryId() != null, "category joined in");
+        }
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setGlobal(true);
+        category.setCreatedAt(START);
+        entityManager.persist(category);
+        return category;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.wealthverse.Service.Impl;
+
+import com.example.wealthverse.Enums.PaymentMode;
+import com.example.wealthverse.Enums.TransactionType;
+import com.example.wealthverse.Model.Category;
+import com.example.wealthverse.Model.Transaction;
+import com.example.wealthverse.Model.User;
+import com.example.wealthverse.Repository.MonthlyCategorySummaryWriter;
+import com.example.wealthverse.Service.SummaryReportCache;
+import com.example.wealthverse.Service.SummaryWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads add single transactions for the same few (user, month, category) keys at once, the
+ * way concurrent addTransaction calls do. Every increment must survive: the stored totals have to
+ * equal the sum of everything that was added.
+ */
+class MonthlyCategorySummaryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSACTIONS_PER_THREAD = 250;
+    private static final long[] USER_IDS = {1L, 2L};
+    private static final long[] CATEGORY_IDS = {3L, 4L};
+    private static final LocalDateTime[] DATES = {
+            LocalDateTime.of(2024, 1, 15, 10, 0),
+            LocalDateTime.of(2024, 2, 15, 10, 0)
+    };
+
+    private JdbcTemplate jdbcTemplate;
+    private MonthlyCategorySummaryServiceImpl summaryService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:summaries-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE monthly_category_summaries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, " +
+                "month_year VARCHAR(7) NOT NULL, " +
+                "month_key INT, " +
+                "category_id BIGINT NOT NULL, " +
+                "total_amount DECIMAL(12, 2) NOT NULL, " +
+                "total_emission DECIMAL(15, 5) NOT NULL, " +
+                "last_aggregated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_mcs_user_monthkey_category UNIQUE (user_id, month_key, category_id))");
+        jdbcTemplate.execute("CREATE TABLE daily_category_summaries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, " +
+                "summary_date DATE NOT NULL, " +
+                "category_id BIGINT NOT NULL, " +
+                "total_amount DECIMAL(12, 2) NOT NULL, " +
+                "total_emission DECIMAL(15, 5) NOT NULL, " +
+                "last_aggregated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_dcs_user_date_category UNIQUE (user_id, summary_date, category_id))");
+        jdbcTemplate.execute("CREATE TABLE yearly_category_summaries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, " +
+                "summary_year INT NOT NULL, " +
+                "category_id BIGINT NOT NULL, " +
+                "total_amount DECIMAL(14, 2) NOT NULL, " +
+                "total_emission DECIMAL(17, 5) NOT NULL, " +
+                "last_aggregated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_ycs_user_year_category UNIQUE (user_id, summary_year, category_id))");
+
+        MonthlyCategorySummaryWriter writer = new MonthlyCategorySummaryWriter(jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+        SummaryReportCache reportCache = new SummaryReportCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        SummaryWriteBuffer writeBuffer = new SummaryWriteBuffer(writer, null, reportCache, new SimpleMeterRegistry(),
+                false, Duration.ofSeconds(2), 5000);
+        summaryService = new MonthlyCategorySummaryServiceImpl(null, null, null, null, writer, reportCache, writeBuffer, null);
+    }
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        Map<String, BigDecimal> expectedAmounts = new ConcurrentHashMap<>();
+        Map<String, BigDecimal> expectedEmissions = new ConcurrentHashMap<>();
+
+        // Create every row once up front, so the threads below all contend on the increment path
+        for (long userId : USER_IDS) {
+            for (long categoryId : CATEGORY_IDS) {
+                for (LocalDateTime date : DATES) {
+                    add(transaction(userId, categoryId, date, new BigDecimal("1.00"), new BigDecimal("0.10")),
+                            expectedAmounts, expectedEmissions);
+                }
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                workers.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+                        Transaction tx = transaction(
+                                USER_IDS[random.nextInt(USER_IDS.length)],
+                                CATEGORY_IDS[random.nextInt(CATEGORY_IDS.length)],
+                                DATES[random.nextInt(DATES.length)],
+                                BigDecimal.valueOf(random.nextInt(100_000), 2),
+                                BigDecimal.valueOf(random.nextInt(1_000), 2));
+                        add(tx, expectedAmounts, expectedEmissions);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, BigDecimal> storedAmounts = new HashMap<>();
+        Map<String, BigDecimal> storedEmissions = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, month_year, category_id, total_amount, total_emission FROM monthly_category_summaries", rs -> {
+            String key = rs.getLong("user_id") + "|" + rs.getString("month_year") + "|" + rs.getLong("category_id");
+            storedAmounts.put(key, rs.getBigDecimal("total_amount"));
+            storedEmissions.put(key, rs.getBigDecimal("total_emission"));
+        });
+
+        assertEquals(USER_IDS.length * CATEGORY_IDS.length * DATES.length, storedAmounts.size());
+        for (Map.Entry<String, BigDecimal> expected : expectedAmounts.entrySet()) {
+            assertEquals(0, expected.getValue().compareTo(storedAmounts.get(expected.getKey())),
+                    "total_amount of " + expected.getKey());
+            assertEquals(0, expectedEmissions.get(expected.getKey()).compareTo(storedEmissions.get(expected.getKey())),
+                    "total_emission of " + expected.getKey());
+        }
+
+        // Every transaction falls on a single day per month, so the daily rows must match the monthly ones
+        Integer mismatchedDays = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM daily_category_summaries d JOIN monthly_category_summaries m " +
+                        "ON m.user_id = d.user_id AND m.category_id = d.category_id " +
+                        "AND m.month_year = FORMATDATETIME(d.summary_date, 'yyyy-MM') " +
+                        "WHERE d.total_amount <> m.total_amount OR d.total_emission <> m.total_emission",
+                Integer.class);
+        assertEquals(0, mismatchedDays);
+
+        // The yearly rollup must stay equal to the sum of its months
+        Integer mismatchedYears = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM yearly_category_summaries y WHERE y.total_amount <> (" +
+                        "SELECT SUM(m.total_amount) FROM monthly_category_summaries m " +
+                        "WHERE m.user_id = y.user_id AND m.category_id = y.category_id AND m.month_key / 12 = y.summary_year)",
+                Integer.class);
+        assertEquals(0, mismatchedYears);
+    }
+
+    /**
+     * Transaction emissions carry five decimals. Added one by one, they must sum to exactly what a
+     * rebuild computes in one go, on the daily, monthly and yearly rows alike.
+     */
+    @Test
+    void fiveDecimalEmissionsAreNotRounded() {
+        Random random = new Random(42);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 200; i++) {
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+            BigDecimal emission = Transaction.carbonEmissionOf(amount, BigDecimal.valueOf(random.nextInt(100_000), 5));
+            summaryService.updateMonthlySummaries(List.of(
+                    transaction(1L, 3L, DATES[0].plusDays(i % 3), amount, emission)));
+            expected = expected.add(emission);
+        }
+
+        BigDecimal monthly = jdbcTemplate.queryForObject(
+                "SELECT total_emission FROM monthly_category_summaries", BigDecimal.class);
+        BigDecimal daily = jdbcTemplate.queryForObject(
+                "SELECT SUM(total_emission) FROM daily_category_summaries", BigDecimal.class);
+        BigDecimal yearly = jdbcTemplate.queryForObject(
+                "SELECT total_emission FROM yearly_category_summaries", BigDecimal.class);
+        assertEquals(0, expected.compareTo(monthly), "monthly total_emission " + monthly + ", expected " + expected);
+        assertEquals(0, expected.compareTo(daily), "daily total_emission " + daily + ", expected " + expected);
+        assertEquals(0, expected.compareTo(yearly), "yearly total_emission " + yearly + ", expected " + expected);
+    }
+
+    private void add(Transaction tx, Map<String, BigDecimal> expectedAmounts, Map<String, BigDecimal> expectedEmissions) {
+        summaryService.updateMonthlySummaries(List.of(tx));
+
+        String key = tx.getUser().getId() + "|" + tx.getCreatedAt().toString().substring(0, 7) + "|" + tx.getCategory().getId();
+        expectedAmounts.merge(key, tx.getAmount(), BigDecimal::add);
+        expectedEmissions.merge(key, tx.getCarbonEmission(), BigDecimal::add);
+    }
+
+    private static Transaction transaction(long userId, long categoryId, LocalDateTime createdAt,
+                                           BigDecimal amount, BigDecimal emission) {
+        User user = new User();
+        user.setId(userId);
+        Category category = new Category();
+        category.setId(categoryId);
+
+        Transaction tx = new Transaction();
+        tx.setUser(user);
+        tx.setCategory(category);
+        tx.setAmount(amount);
+        tx.setCarbonEmission(emission);
+        tx.setIsGloballyMapped(true);
+        tx.setPaymentMode(PaymentMode.UPI);
+        tx.setTransactionType(TransactionType.DEBIT);
+        tx.setCreatedAt(createdAt);
+        return tx;
+    }
+}
@@ -5,6 +5,28 @@ import { add } from 'date-fns';
 
 const TransactionContext = createContext();
 
+// Import job polling backs off from 1s to 10s between polls and gives up after 10 minutes
+const IMPORT_POLL_INITIAL_DELAY_MS = 1000;
+const IMPORT_POLL_MAX_DELAY_MS = 10000;
+const IMPORT_POLL_MAX_WAIT_MS = 10 * 60 * 1000;
+
+const sleep = (ms, signal) =>
+  new Promise((resolve, reject) => {
+    if (signal?.aborted) {
+      reject(signal.reason);
+      return;
+    }
+    const timer = setTimeout(resolve, ms);
+    signal?.addEventListener(
+      "abort",
+      () => {
+        clearTimeout(timer);
+        reject(signal.reason);
+      },
+      { once: true }
+    );
+  });
+
 export function TransactionProvider({ children }) { 
   const [transactions, setTransactions] = useState([]);
   const [totalElements, setTotalElements] = useState(0);
@@ -57,19 +79,42 @@ export function TransactionProvider({ children }) {
       return false;
     }
   };
-  const importTransactions = async (fileData, currentPage, itemsPerPage, selectedMonth ) => {
+  const waitForImportJob = async (jobId, signal) => {
+    const deadline = Date.now() + IMPORT_POLL_MAX_WAIT_MS;
+    let delay = IMPORT_POLL_INITIAL_DELAY_MS;
+    let job = { status: "QUEUED" };
+    while (job.status === "QUEUED" || job.status === "RUNNING") {
+      if (Date.now() + delay > deadline) {
+        // The job keeps running on the server; only the waiting stops
+        return { ...job, status: "TIMED_OUT" };
+      }
+      await sleep(delay, signal);
+      const response = await api.get(`/transactions/import/${jobId}`, { signal });
+      job = response.data;
+      delay = Math.min(delay * 2, IMPORT_POLL_MAX_DELAY_MS);
+    }
+    return job;
+  };
+  // Resolves to the import job's final status, "TIMED_OUT" when it is still running after the
+  // maximum wait, or "CANCELLED" when signal was aborted (e.g. the form unmounted)
+  const importTransactions = async (fileData, currentPage, itemsPerPage, selectedMonth, signal) => {
     try {
-      await api.post("/transactions/import", fileData, {
+      const response = await api.post("/transactions/import", fileData, {
         headers: {
           "Content-Type": "multipart/form-data"
         }
       });
+      // The import runs as a background job; poll it until it finishes
+      const job = await waitForImportJob(response.data.data.jobId, signal);
       // Refresh transactions after importing
       fetchTransactions(currentPage, itemsPerPage, selectedMonth);
-      return true;
+      return job.status;
     } catch (error) {
+      if (signal?.aborted) {
+        return "CANCELLED";
+      }
       console.error("Error importing transactions:", error);
-      return false;
+      return "FAILED";
     }
   };
   const updateCategory = async (transactionId, newCategory, merchantName, applyToAll = false,currentPage, itemsPerPage, selectedMonth) => {
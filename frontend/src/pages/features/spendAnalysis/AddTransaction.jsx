@@ -1,4 +1,4 @@
-import { useState } from "react";
+import { useEffect, useRef, useState } from "react";
 import { format } from "date-fns";
 import { Upload } from "lucide-react";
 import { Button } from "@/components/ui/Button";
@@ -41,6 +41,10 @@ export function AddTransactionForm({ onSuccess }) {
     error: null,
   });
   const [selectedFiles, setSelectedFiles] = useState([]);
+  const importAbort = useRef(null);
+
+  // Stop polling the import job once the form is gone
+  useEffect(() => () => importAbort.current?.abort(), []);
 
   const handleChange = (e) => {
     const { name, value } = e.target;
@@ -121,17 +125,27 @@ export function AddTransactionForm({ onSuccess }) {
         formData.append("file", file); // Note: You may need to change the backend to handle multiple files
       });
 
-      const success = await importTransactions(
+      importAbort.current = new AbortController();
+      const status = await importTransactions(
         formData,
         currentPage,
         itemsPerPage,
-        selectedMonth
+        selectedMonth,
+        importAbort.current.signal
       );
 
-      if (success) {
+      if (status === "CANCELLED") return;
+      if (status === "COMPLETED") {
         setUploadStatus({ inProgress: false, success: true, error: null });
         setSelectedFiles([]); // Clear selected files after successful upload
         if (onSuccess) onSuccess();
+      } else if (status === "TIMED_OUT") {
+        setUploadStatus({
+          inProgress: false,
+          success: false,
+          error:
+            "The import is taking longer than expected. It continues in the background; your transactions will appear once it finishes.",
+        });
       } else {
         setUploadStatus({
           inProgress: false,